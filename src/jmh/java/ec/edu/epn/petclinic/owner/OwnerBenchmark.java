@@ -0,0 +1,104 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the pet lookups of {@link Owner} used by the pet and visit controllers, for
+ * owners with 1, 10 and 100 pets. The looked up pet is the last one added, the worst case
+ * for a scan of the pets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OwnerBenchmark {
+
+	@Param({ "1", "10", "100" })
+	private int pets;
+
+	private Owner owner;
+
+	private String lastPetName;
+
+	private Integer lastPetId;
+
+	@Setup
+	public void setUp() {
+		this.owner = PetFixtures.owner(this.pets);
+		Pet last = this.owner.getPets().get(this.pets - 1);
+		// look up by another case, as a form submission could
+		this.lastPetName = last.getName().toUpperCase();
+		this.lastPetId = last.getId();
+	}
+
+	@Benchmark
+	public Pet getPetByName() {
+		return this.owner.getPet(this.lastPetName, false);
+	}
+
+	@Benchmark
+	public Pet getPetByNameIgnoringNew() {
+		return this.owner.getPet(this.lastPetName, true);
+	}
+
+	@Benchmark
+	public Pet getPetById() {
+		return this.owner.getPet(this.lastPetId);
+	}
+
+	@Benchmark
+	public Pet getMissingPetByName() {
+		return this.owner.getPet("missing", false);
+	}
+
+	static final class PetFixtures {
+
+		private PetFixtures() {
+		}
+
+		static Owner owner(int pets) {
+			Owner owner = new Owner();
+			owner.setId(1);
+			owner.setFirstName("George");
+			owner.setLastName("Franklin");
+			owner.setAddress("110 W. Liberty St.");
+			owner.setCity("Madison");
+			owner.setTelephone("6085551023");
+			for (int i = 0; i < pets; i++) {
+				Pet pet = pet("pet-" + i);
+				owner.addPet(pet);
+				pet.setId(i + 1);
+			}
+			return owner;
+		}
+
+		static Pet pet(String name) {
+			PetType type = new PetType();
+			type.setId(1);
+			type.setName("dog");
+			Pet pet = new Pet();
+			pet.setName(name);
+			pet.setType(type);
+			pet.setBirthDate(LocalDate.of(2020, 1, 1));
+			return pet;
+		}
+
+	}
+
+}
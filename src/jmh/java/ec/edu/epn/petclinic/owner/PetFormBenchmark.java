@@ -0,0 +1,98 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import java.lang.reflect.Proxy;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import ec.edu.epn.petclinic.owner.OwnerBenchmark.PetFixtures;
+
+/**
+ * Benchmarks the per request work of binding a pet form: parsing the pet type and
+ * validating the pet. The pet types come from a stub repository standing in for the
+ * cached list, with the six types of the sample data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PetFormBenchmark {
+
+	private static final String[] TYPE_NAMES = { "bird", "cat", "dog", "hamster", "lizard", "snake" };
+
+	private PetTypeFormatter formatter;
+
+	private PetValidator validator;
+
+	private Pet validPet;
+
+	private Pet invalidPet;
+
+	@Setup
+	public void setUp() {
+		List<PetType> types = new ArrayList<>();
+		for (int i = 0; i < TYPE_NAMES.length; i++) {
+			PetType type = new PetType();
+			type.setId(i + 1);
+			type.setName(TYPE_NAMES[i]);
+			types.add(type);
+		}
+		this.formatter = new PetTypeFormatter(new PetTypeIndex(cachedPetTypes(List.copyOf(types))));
+		this.validator = new PetValidator();
+		this.validPet = PetFixtures.pet("Leo");
+		this.invalidPet = new Pet();
+	}
+
+	@Benchmark
+	public PetType parsePetType() throws ParseException {
+		return this.formatter.parse("snake", Locale.ENGLISH);
+	}
+
+	@Benchmark
+	public Errors validateValidPet() {
+		Errors errors = new BeanPropertyBindingResult(this.validPet, "pet");
+		this.validator.validate(this.validPet, errors);
+		return errors;
+	}
+
+	@Benchmark
+	public Errors validateInvalidPet() {
+		Errors errors = new BeanPropertyBindingResult(this.invalidPet, "pet");
+		this.validator.validate(this.invalidPet, errors);
+		return errors;
+	}
+
+	/**
+	 * Create a repository returning the same list from every
+	 * {@link PetTypeRepository#findPetTypes()} call, as the <code>petTypes</code> cache
+	 * does.
+	 */
+	private static PetTypeRepository cachedPetTypes(List<PetType> types) {
+		return (PetTypeRepository) Proxy.newProxyInstance(PetTypeRepository.class.getClassLoader(),
+				new Class<?>[] { PetTypeRepository.class }, (proxy, method, args) -> {
+					if (method.getName().equals("findPetTypes")) {
+						return types;
+					}
+					throw new UnsupportedOperationException(method.getName());
+				});
+	}
+
+}
@@ -0,0 +1,56 @@
+
+package ec.edu.epn.petclinic.vet;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link Vet#getSpecialties()}, called for every vet rendered by the vet list
+ * and serialized by the <code>/vets</code> resource, for vets with 0, 3 and 10
+ * specialties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VetBenchmark {
+
+	@Param({ "0", "3", "10" })
+	private int specialties;
+
+	private Vet vet;
+
+	@Setup
+	public void setUp() {
+		this.vet = new Vet();
+		this.vet.setId(1);
+		this.vet.setFirstName("Linda");
+		this.vet.setLastName("Douglas");
+		for (int i = this.specialties; i > 0; i--) {
+			Specialty specialty = new Specialty();
+			specialty.setId(i);
+			specialty.setName("specialty-" + i);
+			this.vet.addSpecialty(specialty);
+		}
+	}
+
+	@Benchmark
+	public List<Specialty> getSpecialties() {
+		return this.vet.getSpecialties();
+	}
+
+}
@@ -0,0 +1,132 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal reader of comma separated values (RFC 4180) reading one record at a time, so
+ * that large files are never held in memory. Fields may be quoted with double quotes, in
+ * which case they may contain commas, line breaks and doubled double quotes.
+ */
+final class CsvReader implements Closeable {
+
+	private static final int EOF = -1;
+
+	private final Reader reader;
+
+	private int line = 1;
+
+	private int recordLine;
+
+	private int pushedBack = EOF - 1;
+
+	CsvReader(Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * Read the next record.
+	 * @return the fields of the record, or {@literal null} at the end of the input
+	 * @throws IOException if the input cannot be read
+	 * @throws FormatException if a quoted field is not closed
+	 */
+	List<String> readRecord() throws IOException {
+		int line = this.line;
+		int c = read();
+		if (c == EOF) {
+			return null;
+		}
+		this.recordLine = line;
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		while (true) {
+			if (quoted) {
+				if (c == EOF) {
+					throw new FormatException("Unterminated quoted field starting on line " + this.recordLine);
+				}
+				if (c == '"') {
+					int next = read();
+					if (next == '"') {
+						field.append('"');
+					}
+					else {
+						quoted = false;
+						c = next;
+						continue;
+					}
+				}
+				else {
+					field.append((char) c);
+				}
+			}
+			else if (c == '"' && field.isEmpty()) {
+				quoted = true;
+			}
+			else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			}
+			else if (c == '\r' || c == '\n' || c == EOF) {
+				if (c == '\r') {
+					int next = read();
+					if (next != '\n') {
+						unread(next);
+					}
+				}
+				fields.add(field.toString());
+				return fields;
+			}
+			else {
+				field.append((char) c);
+			}
+			c = read();
+		}
+	}
+
+	/**
+	 * Return the line on which the last record read started, counting from 1.
+	 */
+	int getRecordLine() {
+		return this.recordLine;
+	}
+
+	private int read() throws IOException {
+		int c;
+		if (this.pushedBack != EOF - 1) {
+			c = this.pushedBack;
+			this.pushedBack = EOF - 1;
+			return c;
+		}
+		c = this.reader.read();
+		if (c == '\n') {
+			this.line++;
+		}
+		return c;
+	}
+
+	private void unread(int c) {
+		this.pushedBack = c;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.reader.close();
+	}
+
+	/**
+	 * Thrown when the input is not valid CSV, as opposed to when it cannot be read.
+	 */
+	static final class FormatException extends IOException {
+
+		FormatException(String message) {
+			super(message);
+		}
+
+	}
+
+}
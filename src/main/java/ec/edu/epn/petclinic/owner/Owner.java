@@ -3,7 +3,7 @@ package ec.edu.epn.petclinic.owner;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
+import java.util.Locale;
 
 import org.springframework.core.style.ToStringCreator;
 import ec.edu.epn.petclinic.model.Person;
@@ -12,21 +12,50 @@ import org.springframework.util.Assert;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.NotBlank;
 
 /**
  * Simple JavaBean domain object representing an owner.
+ * <p>
+ * The {@link Pet}s of an owner are loaded lazily. Use cases that render them fetch the
+ * owner through {@link OwnerRepository#findWithPetsById(Integer)} or
+ * {@link OwnerRepository#findWithPetsAndVisitsById(Integer)} so that everything their
+ * view needs is loaded up front, without one query per pet. Looking up a pet by id or
+ * name goes through a {@link PetIndex} built on first use.
+ * </p>
+ * <p>
+ * Owners are searched by last name prefix regardless of case on every database through
+ * a {@link #normalizeLastName(String) normalized} copy of the last name, kept up to date
+ * by {@link #setLastName(String)} and indexed by the schema.
+ * </p>
+ * <p>
+ * Owners and their {@link Pet}s carry a version, incremented on every update, from which
+ * {@link OwnerRepository#findVersionById(Integer)} tells whether an owner page changed.
+ * </p>
  */
 @Entity
 @Table(name = "owners")
+@EntityListeners(OwnerSuggestionListener.class)
+@NamedEntityGraph(name = Owner.PETS_GRAPH, attributeNodes = @NamedAttributeNode(value = "pets", subgraph = "pet"),
+		subgraphs = @NamedSubgraph(name = "pet", attributeNodes = @NamedAttributeNode("type")))
 public class Owner extends Person {
 
+	/**
+	 * Fetch plan loading the owner with its pets and their types.
+	 */
+	public static final String PETS_GRAPH = "Owner.pets";
+
 	@Column
 	@NotBlank
 	private String address;
@@ -40,11 +69,35 @@ public class Owner extends Person {
 	@Pattern(regexp = "\\d{10}", message = "{telephone.invalid}")
 	private String telephone;
 
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	@Column
+	private String normalizedLastName;
+
+	@Version
+	private Integer version;
+
+	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	@JoinColumn(name = "owner_id")
 	@OrderBy("name")
 	private final List<Pet> pets = new ArrayList<>();
 
+	private transient PetIndex petIndex;
+
+	@Override
+	public void setLastName(String lastName) {
+		super.setLastName(lastName);
+		this.normalizedLastName = normalizeLastName(lastName);
+	}
+
+	/**
+	 * Return the form of a last name, or of a last name prefix, that owners are searched
+	 * by.
+	 * @param lastName the last name, may be {@literal null}
+	 * @return the lower-cased last name, or {@literal null}
+	 */
+	public static String normalizeLastName(String lastName) {
+		return (lastName != null) ? lastName.toLowerCase(Locale.ROOT) : null;
+	}
+
 	public String getAddress() {
 		return this.address;
 	}
@@ -75,7 +128,12 @@ public class Owner extends Person {
 
 	public void addPet(Pet pet) {
 		if (pet.isNew()) {
+			boolean indexed = this.petIndex != null && this.petIndex.isValid();
+			pet.setOwner(this);
 			getPets().add(pet);
+			if (indexed) {
+				this.petIndex.add(pet);
+			}
 		}
 	}
 
@@ -94,15 +152,7 @@ public class Owner extends Person {
 	 * @return the Pet with the given id, or null if no such Pet exists for this Owner
 	 */
 	public Pet getPet(Integer id) {
-		for (Pet pet : getPets()) {
-			if (!pet.isNew()) {
-				Integer compId = pet.getId();
-				if (Objects.equals(compId, id)) {
-					return pet;
-				}
-			}
-		}
-		return null;
+		return petIndex().get(id);
 	}
 
 	/**
@@ -112,14 +162,14 @@ public class Owner extends Person {
 	 * @return the Pet with the given name, or null if no such Pet exists for this Owner
 	 */
 	public Pet getPet(String name, boolean ignoreNew) {
-		for (Pet pet : getPets()) {
-			String compName = pet.getName();
-			if (compName != null && compName.equalsIgnoreCase(name) && (!ignoreNew || !pet.isNew())) {
-					return pet;
-				}
-			
+		return petIndex().get(name, ignoreNew);
+	}
+
+	private PetIndex petIndex() {
+		if (this.petIndex == null || !this.petIndex.isValid()) {
+			this.petIndex = new PetIndex(getPets());
 		}
-		return null;
+		return this.petIndex;
 	}
 
 	@Override
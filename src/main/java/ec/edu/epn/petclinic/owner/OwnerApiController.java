@@ -0,0 +1,114 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Read-only JSON API over the owners for non-browser clients. Handlers return
+ * {@link Mono}/{@link Flux} so that no servlet thread waits on the database: the blocking
+ * {@link OwnerRepository} calls run on the bounded elastic scheduler and the response is
+ * written asynchronously once they complete.
+ * <p>
+ * Owner search results are read in chunks by keyset, one chunk at a time as the client
+ * consumes them. Requested as <code>application/x-ndjson</code>, results are written one
+ * owner per line and the next chunk is only read once the previous one has been written.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/owners")
+class OwnerApiController {
+
+	static final int CHUNK_SIZE = 50;
+
+	static final int MAX_LIMIT = 1000;
+
+	static final int MAX_SEARCH_LIMIT = 100;
+
+	private final OwnerRepository owners;
+
+	private final OwnerSearch ownerSearch;
+
+	OwnerApiController(OwnerRepository owners, OwnerSearch ownerSearch) {
+		this.owners = owners;
+		this.ownerSearch = ownerSearch;
+	}
+
+	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+	public Flux<OwnerSummary> findOwners(@RequestParam(defaultValue = "") String lastName,
+			@RequestParam(defaultValue = "100") int limit) {
+		return searchOwners(lastName, limit);
+	}
+
+	@GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public Flux<OwnerSummary> streamOwners(@RequestParam(defaultValue = "") String lastName,
+			@RequestParam(defaultValue = "100") int limit) {
+		return searchOwners(lastName, limit);
+	}
+
+	/**
+	 * Full-text search of owners by name, address, city, telephone or pet name, see
+	 * {@link OwnerSearch}.
+	 * @param q the words to search for
+	 * @param limit the maximum number of owners to return
+	 * @return the matching owners, the most relevant first
+	 */
+	@GetMapping("/search")
+	public Flux<OwnerSummary> fullTextSearch(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+		if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"limit must be between 1 and " + MAX_SEARCH_LIMIT);
+		}
+		return Mono.fromCallable(() -> this.ownerSearch.search(q, limit))
+			.subscribeOn(Schedulers.boundedElastic())
+			.flatMapIterable(owners -> owners);
+	}
+
+	@GetMapping("/{ownerId}")
+	public Mono<ResponseEntity<Owner>> showOwner(@PathVariable("ownerId") int ownerId) {
+		return Mono.fromCallable(() -> this.owners.findWithPetsAndVisitsById(ownerId))
+			.subscribeOn(Schedulers.boundedElastic())
+			.flatMap(Mono::justOrEmpty)
+			.map(ResponseEntity::ok)
+			.defaultIfEmpty(ResponseEntity.notFound().build());
+	}
+
+	private Flux<OwnerSummary> searchOwners(String lastName, int limit) {
+		if (limit < 1 || limit > MAX_LIMIT) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+		}
+		return firstChunk(lastName)
+			.expand(chunk -> (chunk.size() < CHUNK_SIZE) ? Mono.empty() : nextChunk(lastName, chunk))
+			.concatMapIterable(chunk -> chunk)
+			.take(limit, true);
+	}
+
+	private Mono<List<OwnerSummary>> firstChunk(String lastName) {
+		return Mono
+			.fromCallable(() -> this.owners.findSummariesByLastNameStartingWith(lastName, Limit.of(CHUNK_SIZE)))
+			.subscribeOn(Schedulers.boundedElastic());
+	}
+
+	private Mono<List<OwnerSummary>> nextChunk(String lastName, List<OwnerSummary> previous) {
+		OwnerSummary last = previous.get(previous.size() - 1);
+		return Mono
+			.fromCallable(() -> this.owners.findSummariesByLastNameStartingWithAfter(lastName, last.getLastName(),
+					last.getId(), Limit.of(CHUNK_SIZE)))
+			.subscribeOn(Schedulers.boundedElastic());
+	}
+
+}
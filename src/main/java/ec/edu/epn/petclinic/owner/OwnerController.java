@@ -3,11 +3,13 @@ package ec.edu.epn.petclinic.owner;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -18,8 +20,9 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.server.ResponseStatusException;
 
+import ec.edu.epn.petclinic.owner.OwnerLoader.FetchPlan;
 import jakarta.validation.Valid;
 
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
@@ -29,10 +32,15 @@ class OwnerController {
 
 	private static final String VIEWS_OWNER_CREATE_OR_UPDATE_FORM = "owners/createOrUpdateOwnerForm";
 
+	private static final int PAGE_SIZE = 5;
+
 	private final OwnerRepository owners;
 
-	public OwnerController(OwnerRepository owners) {
+	private final OwnerLoader ownerLoader;
+
+	public OwnerController(OwnerRepository owners, OwnerLoader ownerLoader) {
 		this.owners = owners;
+		this.ownerLoader = ownerLoader;
 	}
 
 	@InitBinder
@@ -42,10 +50,7 @@ class OwnerController {
 
 	@ModelAttribute("owner")
 	public Owner findOwner(@PathVariable(name = "ownerId", required = false) Integer ownerId) {
-		return ownerId == null ? new Owner()
-				: this.owners.findById(ownerId)
-					.orElseThrow(() -> new IllegalArgumentException("Owner not found with id: " + ownerId
-							+ ". Please ensure the ID is correct " + "and the owner exists in the database."));
+		return ownerId == null ? new Owner() : this.ownerLoader.getOwner(ownerId, FetchPlan.OWNER);
 	}
 
 	@GetMapping("/owners/new")
@@ -70,17 +75,33 @@ class OwnerController {
 		return "owners/findOwners";
 	}
 
+	/**
+	 * Search owners by last name prefix. Results are paginated by page number unless a
+	 * <code>cursor</code> parameter is present (an empty one meaning the first page), in
+	 * which case keyset pagination on last name and id is used so that every page costs
+	 * the same as the first one. Passing <code>count=false</code> skips counting the
+	 * total number of matching owners.
+	 */
 	@GetMapping("/owners")
-	public String processFindForm(@RequestParam(defaultValue = "1") int page, Owner owner, BindingResult result,
-			Model model) {
+	public String processFindForm(@RequestParam(defaultValue = "1") int page,
+			@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "true") boolean count,
+			Owner owner, BindingResult result, Model model) {
 		// allow parameterless GET request for /owners to return all records
 		String lastName = owner.getLastName();
 		if (lastName == null) {
 			lastName = ""; // empty string signifies broadest possible search
 		}
 
+		if (cursor != null) {
+			return processKeysetFindForm(cursor, count, lastName, result, model);
+		}
+
+		if (!count) {
+			return processSliceFindForm(page, lastName, result, model);
+		}
+
 		// find owners by last name
-		Page<Owner> ownersResults = findPaginatedForOwnersLastName(page, lastName);
+		Page<OwnerSummary> ownersResults = findPaginatedForOwnersLastName(page, lastName);
 		if (ownersResults.isEmpty()) {
 			// no owners found
 			result.rejectValue("lastName", "notFound", "not found");
@@ -89,16 +110,65 @@ class OwnerController {
 
 		if (ownersResults.getTotalElements() == 1) {
 			// 1 owner found
-			owner = ownersResults.iterator().next();
-			return "redirect:/owners/" + owner.getId();
+			return "redirect:/owners/" + ownersResults.iterator().next().getId();
 		}
 
 		// multiple owners found
 		return addPaginationModel(page, model, ownersResults);
 	}
 
-	private String addPaginationModel(int page, Model model, Page<Owner> paginated) {
-		List<Owner> listOwners = paginated.getContent();
+	private String processSliceFindForm(int page, String lastName, BindingResult result, Model model) {
+		Slice<OwnerSummary> ownersResults = findSliceForOwnersLastName(page, lastName);
+		if (ownersResults.isEmpty() && page == 1) {
+			// no owners found
+			result.rejectValue("lastName", "notFound", "not found");
+			return "owners/findOwners";
+		}
+
+		if (page == 1 && ownersResults.getNumberOfElements() == 1 && !ownersResults.hasNext()) {
+			// 1 owner found
+			return "redirect:/owners/" + ownersResults.iterator().next().getId();
+		}
+
+		model.addAttribute("currentPage", page);
+		model.addAttribute("hasNext", ownersResults.hasNext());
+		model.addAttribute("lastName", lastName);
+		model.addAttribute("listOwners", ownersResults.getContent());
+		return "owners/ownersList";
+	}
+
+	private String processKeysetFindForm(String cursor, boolean count, String lastName, BindingResult result,
+			Model model) {
+		boolean firstPage = cursor.isEmpty();
+		List<OwnerSummary> ownersResults = findKeysetForOwnersLastName(cursor, lastName);
+		boolean hasNext = ownersResults.size() > PAGE_SIZE;
+		List<OwnerSummary> listOwners = hasNext ? ownersResults.subList(0, PAGE_SIZE) : ownersResults;
+		if (listOwners.isEmpty() && firstPage) {
+			// no owners found
+			result.rejectValue("lastName", "notFound", "not found");
+			return "owners/findOwners";
+		}
+
+		if (firstPage && listOwners.size() == 1 && !hasNext) {
+			// 1 owner found
+			return "redirect:/owners/" + listOwners.get(0).getId();
+		}
+
+		if (hasNext) {
+			model.addAttribute("nextCursor", OwnerSearchCursor.after(listOwners.get(PAGE_SIZE - 1)).encode());
+		}
+		if (count) {
+			model.addAttribute("totalItems", this.owners.countByLastNameStartingWith(lastName));
+		}
+		model.addAttribute("keyset", true);
+		model.addAttribute("countTotal", count);
+		model.addAttribute("lastName", lastName);
+		model.addAttribute("listOwners", listOwners);
+		return "owners/ownersList";
+	}
+
+	private String addPaginationModel(int page, Model model, Page<OwnerSummary> paginated) {
+		List<OwnerSummary> listOwners = paginated.getContent();
 		model.addAttribute("currentPage", page);
 		model.addAttribute("totalPages", paginated.getTotalPages());
 		model.addAttribute("totalItems", paginated.getTotalElements());
@@ -106,10 +176,31 @@ class OwnerController {
 		return "owners/ownersList";
 	}
 
-	private Page<Owner> findPaginatedForOwnersLastName(int page, String lastname) {
-		int pageSize = 5;
-		Pageable pageable = PageRequest.of(page - 1, pageSize);
-		return owners.findByLastNameStartingWith(lastname, pageable);
+	private Page<OwnerSummary> findPaginatedForOwnersLastName(int page, String lastname) {
+		Pageable pageable = PageRequest.of(page - 1, PAGE_SIZE);
+		return owners.findSummariesByLastNameStartingWith(lastname, pageable);
+	}
+
+	private Slice<OwnerSummary> findSliceForOwnersLastName(int page, String lastname) {
+		Pageable pageable = PageRequest.of(page - 1, PAGE_SIZE);
+		return owners.findSummarySliceByLastNameStartingWith(lastname, pageable);
+	}
+
+	private List<OwnerSummary> findKeysetForOwnersLastName(String cursor, String lastname) {
+		// one extra row tells whether there is a following page without counting
+		Limit limit = Limit.of(PAGE_SIZE + 1);
+		if (cursor.isEmpty()) {
+			return owners.findSummariesByLastNameStartingWith(lastname, limit);
+		}
+		OwnerSearchCursor after;
+		try {
+			after = OwnerSearchCursor.decode(cursor);
+		}
+		catch (IllegalArgumentException ex) {
+			// the cursor comes from the client, which may have altered it
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+		}
+		return owners.findSummariesByLastNameStartingWithAfter(lastname, after.getLastName(), after.getId(), limit);
 	}
 
 	@GetMapping("/owners/{ownerId}/edit")
@@ -137,19 +228,4 @@ class OwnerController {
 		return "redirect:/owners/{ownerId}";
 	}
 
-	/**
-	 * Custom handler for displaying an owner.
-	 * @param ownerId the ID of the owner to display
-	 * @return a ModelMap with the model attributes for the view
-	 */
-	@GetMapping("/owners/{ownerId}")
-	public ModelAndView showOwner(@PathVariable("ownerId") int ownerId) {
-		ModelAndView mav = new ModelAndView("owners/ownerDetails");
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
-				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
-		mav.addObject(owner);
-		return mav;
-	}
-
 }
@@ -0,0 +1,65 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.ModelAndView;
+
+import ec.edu.epn.petclinic.owner.OwnerLoader.FetchPlan;
+import ec.edu.epn.petclinic.system.ConditionalGet;
+
+/**
+ * Serves the owner details page. Kept apart from {@link OwnerController}, whose
+ * <code>owner</code> model attribute would load the owner before the page could be
+ * answered with a <code>304 Not Modified</code>, and again along with its pets.
+ */
+@Controller
+class OwnerDetailsController {
+
+	static final int RECENT_VISITS = VisitHistoryController.PAGE_SIZE;
+
+	private final OwnerRepository owners;
+
+	private final OwnerLoader ownerLoader;
+
+	private final VisitRepository visits;
+
+	OwnerDetailsController(OwnerRepository owners, OwnerLoader ownerLoader, VisitRepository visits) {
+		this.owners = owners;
+		this.ownerLoader = ownerLoader;
+		this.visits = visits;
+	}
+
+	/**
+	 * Custom handler for displaying an owner. Only the most recent visits of each pet are
+	 * shown, older ones are loaded on demand from {@link VisitHistoryController}.
+	 * <p>
+	 * A client already holding the page gets a <code>304 Not Modified</code> after a
+	 * single version query when neither the owner, its pets nor their visits changed.
+	 * </p>
+	 * @param ownerId the ID of the owner to display
+	 * @param request the current request
+	 * @return a ModelMap with the model attributes for the view, or {@literal null} if
+	 * the page was not modified
+	 */
+	@GetMapping("/owners/{ownerId}")
+	public ModelAndView showOwner(@PathVariable("ownerId") int ownerId, ServletWebRequest request) {
+		Optional<OwnerVersion> version = this.owners.findVersionById(ownerId);
+		if (version.isPresent() && ConditionalGet.checkNotModified(request, version.get().tag())) {
+			return null;
+		}
+		ModelAndView mav = new ModelAndView("owners/ownerDetails");
+		Owner owner = this.ownerLoader.getOwner(ownerId, FetchPlan.PETS);
+		mav.addObject(owner);
+		// one more visit than shown per pet tells whether a pet has older visits
+		List<PetVisit> latest = owner.getPets().isEmpty() ? List.of()
+				: this.visits.findLatestByOwnerId(ownerId, RECENT_VISITS + 1);
+		mav.addObject(new RecentVisits(latest, RECENT_VISITS));
+		return mav;
+	}
+
+}
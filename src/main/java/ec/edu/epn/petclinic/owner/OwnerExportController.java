@@ -0,0 +1,41 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Bulk export of all owners with their pets and visits, as CSV or newline delimited
+ * JSON. The export is written to the response while it is read from the database, see
+ * {@link OwnerExportWriter}.
+ */
+@RestController
+class OwnerExportController {
+
+	private static final String TEXT_CSV_VALUE = "text/csv";
+
+	private final OwnerExportWriter exportWriter;
+
+	OwnerExportController(OwnerExportWriter exportWriter) {
+		this.exportWriter = exportWriter;
+	}
+
+	@GetMapping(path = "/owners/export", produces = TEXT_CSV_VALUE)
+	public void exportCsv(HttpServletResponse response) throws IOException {
+		response.setContentType(TEXT_CSV_VALUE + ";charset=UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"owners.csv\"");
+		this.exportWriter.writeCsv(response.getOutputStream());
+	}
+
+	@GetMapping(path = "/owners/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public void exportNdjson(HttpServletResponse response) throws IOException {
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		this.exportWriter.writeNdjson(response.getOutputStream());
+	}
+
+}
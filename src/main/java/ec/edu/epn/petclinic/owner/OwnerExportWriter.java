@@ -0,0 +1,228 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+/**
+ * Writes every owner with its pets and their visits while reading them from the
+ * database, for bulk exports of any size.
+ * <p>
+ * Owners, pets, pet types and visits are read in a single statement through a forward
+ * only JDBC cursor, {@link #FETCH_SIZE} rows at a time, and each row is written as soon
+ * as it is read: no entity is created and no more than the current row is held in
+ * memory. The read-only transaction keeps the cursor open on drivers, such as the
+ * PostgreSQL one, which only honor the fetch size outside of auto-commit.
+ * </p>
+ */
+@Component
+class OwnerExportWriter {
+
+	static final int FETCH_SIZE = 1000;
+
+	static final String CSV_HEADER = "ownerId,firstName,lastName,address,city,telephone,"
+			+ "petId,petName,petBirthDate,petType,visitId,visitDate,visitDescription";
+
+	private static final String EXPORT_QUERY = """
+			SELECT o.id, o.first_name, o.last_name, o.address, o.city, o.telephone,
+				p.id, p.name, p.birth_date, t.name, v.id, v.visit_date, v.description
+			FROM owners o
+				LEFT JOIN pets p ON p.owner_id = o.id
+				LEFT JOIN types t ON t.id = p.type_id
+				LEFT JOIN visits v ON v.pet_id = p.id
+			ORDER BY o.id, p.id, v.visit_date, v.id
+			""";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final ObjectWriter writer;
+
+	OwnerExportWriter(JdbcTemplate jdbcTemplate, ObjectMapper mapper) {
+		this.jdbcTemplate = jdbcTemplate;
+		// closing a generator flushes it without closing the stream it writes to
+		this.writer = mapper.writer().without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+	}
+
+	/**
+	 * Write one CSV line per visit, or per pet without visits and owner without pets,
+	 * after a {@link #CSV_HEADER header} line. Columns of a missing pet or visit are
+	 * empty.
+	 * @param out the stream to write to, left open
+	 */
+	@Transactional(readOnly = true)
+	public void writeCsv(OutputStream out) {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		try {
+			writer.write(CSV_HEADER);
+			writer.write("\r\n");
+			query(rs -> {
+				try {
+					for (int column = 1; column <= 13; column++) {
+						if (column > 1) {
+							writer.write(',');
+						}
+						writer.write(csvField(rs.getObject(column)));
+					}
+					writer.write("\r\n");
+				}
+				catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			});
+			writer.flush();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * Write the owners as newline delimited JSON, one owner per line with its
+	 * <code>pets</code> and their <code>visits</code> nested, in the same shape as the
+	 * owner documents of the JSON API.
+	 * @param out the stream to write to, left open
+	 */
+	@Transactional(readOnly = true)
+	public void writeNdjson(OutputStream out) {
+		try (JsonGenerator generator = this.writer.createGenerator(out)) {
+			NdjsonRowWriter rows = new NdjsonRowWriter(generator);
+			query(rows);
+			rows.finish();
+		}
+	}
+
+	/**
+	 * Run the export query with its own fetch size, leaving the one of the shared
+	 * {@link JdbcTemplate} untouched.
+	 */
+	private void query(RowCallbackHandler handler) {
+		this.jdbcTemplate.query(OwnerExportWriter::prepareExportQuery, handler);
+	}
+
+	private static PreparedStatement prepareExportQuery(Connection connection) throws SQLException {
+		PreparedStatement statement = connection.prepareStatement(EXPORT_QUERY, ResultSet.TYPE_FORWARD_ONLY,
+				ResultSet.CONCUR_READ_ONLY);
+		statement.setFetchSize(FETCH_SIZE);
+		return statement;
+	}
+
+	private static String csvField(Object value) {
+		if (value == null) {
+			return "";
+		}
+		String text = value.toString();
+		if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+			return text;
+		}
+		return '"' + text.replace("\"", "\"\"") + '"';
+	}
+
+	/**
+	 * Writes the rows of the export query as nested JSON documents, opening an owner or
+	 * pet when its id first appears and closing it when the next one starts.
+	 */
+	private static final class NdjsonRowWriter implements RowCallbackHandler {
+
+		private final JsonGenerator generator;
+
+		private Integer ownerId;
+
+		private Integer petId;
+
+		private NdjsonRowWriter(JsonGenerator generator) {
+			this.generator = generator;
+		}
+
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			int ownerId = rs.getInt(1);
+			if (this.ownerId == null || this.ownerId != ownerId) {
+				finish();
+				startOwner(ownerId, rs);
+			}
+			int petId = rs.getInt(7);
+			if (rs.wasNull()) {
+				return;
+			}
+			if (this.petId == null || this.petId != petId) {
+				finishPet();
+				startPet(petId, rs);
+			}
+			int visitId = rs.getInt(11);
+			if (!rs.wasNull()) {
+				this.generator.writeStartObject();
+				this.generator.writeNumberProperty("id", visitId);
+				this.generator.writeStringProperty("date", date(rs.getObject(12, LocalDate.class)));
+				this.generator.writeStringProperty("description", rs.getString(13));
+				this.generator.writeEndObject();
+			}
+		}
+
+		private void startOwner(int ownerId, ResultSet rs) throws SQLException {
+			this.ownerId = ownerId;
+			this.generator.writeStartObject();
+			this.generator.writeNumberProperty("id", ownerId);
+			this.generator.writeStringProperty("firstName", rs.getString(2));
+			this.generator.writeStringProperty("lastName", rs.getString(3));
+			this.generator.writeStringProperty("address", rs.getString(4));
+			this.generator.writeStringProperty("city", rs.getString(5));
+			this.generator.writeStringProperty("telephone", rs.getString(6));
+			this.generator.writeArrayPropertyStart("pets");
+		}
+
+		private void startPet(int petId, ResultSet rs) throws SQLException {
+			this.petId = petId;
+			this.generator.writeStartObject();
+			this.generator.writeNumberProperty("id", petId);
+			this.generator.writeStringProperty("name", rs.getString(8));
+			this.generator.writeStringProperty("birthDate", date(rs.getObject(9, LocalDate.class)));
+			this.generator.writeObjectPropertyStart("type");
+			this.generator.writeStringProperty("name", rs.getString(10));
+			this.generator.writeEndObject();
+			this.generator.writeArrayPropertyStart("visits");
+		}
+
+		private void finishPet() {
+			if (this.petId != null) {
+				this.generator.writeEndArray();
+				this.generator.writeEndObject();
+				this.petId = null;
+			}
+		}
+
+		private void finish() {
+			if (this.ownerId != null) {
+				finishPet();
+				this.generator.writeEndArray();
+				this.generator.writeEndObject();
+				this.generator.writeRaw('\n');
+				this.ownerId = null;
+			}
+		}
+
+		private static String date(LocalDate date) {
+			return (date != null) ? date.toString() : null;
+		}
+
+	}
+
+}
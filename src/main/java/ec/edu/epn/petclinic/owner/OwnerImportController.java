@@ -0,0 +1,42 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Bulk import of owners and pets from a CSV request body, see {@link OwnerImporter} for
+ * the expected columns. The body is read as it is imported rather than buffered, and the
+ * response reports how many owners and pets were saved and which rows were rejected. It is
+ * a <code>400 Bad Request</code> when the body is not valid CSV, still reporting the rows
+ * saved before the invalid input was read.
+ */
+@RestController
+class OwnerImportController {
+
+	private final OwnerImporter importer;
+
+	OwnerImportController(OwnerImporter importer) {
+		this.importer = importer;
+	}
+
+	@PostMapping(path = "/owners/import", consumes = "text/csv", produces = "application/json")
+	public ResponseEntity<OwnerImportReport> importOwners(InputStream body) throws IOException {
+		OwnerImportReport report;
+		try {
+			report = this.importer.importOwners(new InputStreamReader(body, StandardCharsets.UTF_8));
+		}
+		catch (IllegalArgumentException ex) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+		}
+		return (report.getFailure() != null) ? ResponseEntity.badRequest().body(report) : ResponseEntity.ok(report);
+	}
+
+}
@@ -0,0 +1,92 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk owner import: how many owners and pets were saved and why rows were
+ * rejected. Only the first {@link #MAX_ERRORS} row errors are kept, the others are only
+ * counted, so that importing a badly formatted file does not exhaust memory.
+ * <p>
+ * An import stopped by input that is not valid CSV has a {@link #getFailure() failure}.
+ * The rows up to {@link #getCommittedThroughLine()} were then saved or rejected as
+ * reported, the following ones were not imported.
+ * </p>
+ */
+public class OwnerImportReport {
+
+	static final int MAX_ERRORS = 1000;
+
+	private int ownersImported;
+
+	private int petsImported;
+
+	private int rowsRejected;
+
+	private int committedThroughLine;
+
+	private String failure;
+
+	private final List<RowError> errors = new ArrayList<>();
+
+	public int getOwnersImported() {
+		return this.ownersImported;
+	}
+
+	public int getPetsImported() {
+		return this.petsImported;
+	}
+
+	public int getRowsRejected() {
+		return this.rowsRejected;
+	}
+
+	/**
+	 * Return the last line of the input whose rows were saved or rejected, {@code 0} if
+	 * none was.
+	 */
+	public int getCommittedThroughLine() {
+		return this.committedThroughLine;
+	}
+
+	/**
+	 * Return why the import stopped before the end of the input, or {@literal null} if
+	 * the whole input was imported.
+	 */
+	public String getFailure() {
+		return this.failure;
+	}
+
+	public List<RowError> getErrors() {
+		return Collections.unmodifiableList(this.errors);
+	}
+
+	void imported(int owners, int pets) {
+		this.ownersImported += owners;
+		this.petsImported += pets;
+	}
+
+	void committedThrough(int line) {
+		this.committedThroughLine = line;
+	}
+
+	void failed(String failure) {
+		this.failure = failure;
+	}
+
+	void rejected(int line, String message) {
+		this.rowsRejected++;
+		if (this.errors.size() < MAX_ERRORS) {
+			this.errors.add(new RowError(line, message));
+		}
+	}
+
+	/**
+	 * Why the row starting on a given line of the file was rejected.
+	 */
+	public record RowError(int line, String message) {
+	}
+
+}
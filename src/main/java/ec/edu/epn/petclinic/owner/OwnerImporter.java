@@ -0,0 +1,283 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Imports owners and their pets from comma separated values, reading, validating and
+ * saving them a chunk at a time so that files of any size can be imported.
+ * <p>
+ * The first line names the columns: <code>firstName</code>, <code>lastName</code>,
+ * <code>address</code>, <code>city</code> and <code>telephone</code> are required,
+ * <code>petName</code>, <code>petBirthDate</code> (<code>yyyy-MM-dd</code>) and
+ * <code>petType</code> are optional. Each following row describes an owner and optionally
+ * one of its pets; consecutive rows with the same owner columns add pets to the same
+ * owner. Owners are validated with their Bean Validation constraints and pets with the
+ * {@link PetValidator} and the rules of the pet form. Invalid rows are reported and
+ * skipped, a pet row of a valid owner only drops that pet.
+ * </p>
+ * <p>
+ * Every {@link #CHUNK_SIZE} owners are saved in their own transaction, in JDBC batches. A
+ * chunk failing to save is rolled back and its rows reported, without affecting the
+ * chunks saved before it. Input that is not valid CSV stops the import, the owners read
+ * since the last save are then dropped and the report tells up to which line the input
+ * was committed.
+ * </p>
+ */
+@Component
+class OwnerImporter {
+
+	private static final Log logger = LogFactory.getLog(OwnerImporter.class);
+
+	static final int CHUNK_SIZE = 500;
+
+	private static final List<String> OWNER_COLUMNS = List.of("firstName", "lastName", "address", "city",
+			"telephone");
+
+	private static final List<String> PET_COLUMNS = List.of("petName", "petBirthDate", "petType");
+
+	private final OwnerRepository owners;
+
+	private final PetTypeIndex types;
+
+	private final Validator validator;
+
+	private final MessageSource messages;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final PetValidator petValidator = new PetValidator();
+
+	OwnerImporter(OwnerRepository owners, PetTypeIndex types, Validator validator, MessageSource messages,
+			PlatformTransactionManager transactionManager) {
+		this.owners = owners;
+		this.types = types;
+		this.validator = validator;
+		this.messages = messages;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Import the owners and pets read from the given CSV input. Input that is not valid
+	 * CSV does not throw but ends the import with a {@link OwnerImportReport#getFailure()
+	 * failure}.
+	 * @param input the CSV input, closed once read
+	 * @return the report of the import
+	 * @throws IOException if the input cannot be read
+	 * @throws IllegalArgumentException if the header misses a required column
+	 */
+	OwnerImportReport importOwners(Reader input) throws IOException {
+		OwnerImportReport report = new OwnerImportReport();
+		try (CsvReader csv = new CsvReader(input)) {
+			Map<String, Integer> columns = readHeader(csv);
+			Chunk chunk = new Chunk();
+			List<String> previousKey = null;
+			Owner current = null;
+			int lastLine = csv.getRecordLine();
+			for (List<String> record = csv.readRecord(); record != null; record = csv.readRecord()) {
+				int line = csv.getRecordLine();
+				if (record.size() == 1 && record.get(0).isBlank()) {
+					continue;
+				}
+				Row row = new Row(columns, record);
+				List<String> key = row.values(OWNER_COLUMNS);
+				if (current == null || !key.equals(previousKey)) {
+					if (chunk.owners.size() >= CHUNK_SIZE) {
+						save(chunk, lastLine, report);
+						chunk = new Chunk();
+					}
+					current = toOwner(row, line, report);
+					previousKey = key;
+					if (current != null) {
+						chunk.add(current, line);
+					}
+				}
+				if (current != null && row.hasPet()) {
+					Pet pet = toPet(row, current, line, report);
+					if (pet != null) {
+						current.addPet(pet);
+						chunk.pets++;
+					}
+				}
+				lastLine = line;
+			}
+			save(chunk, lastLine, report);
+		}
+		catch (CsvReader.FormatException ex) {
+			report.failed(ex.getMessage());
+		}
+		return report;
+	}
+
+	private Map<String, Integer> readHeader(CsvReader csv) throws IOException {
+		List<String> header = csv.readRecord();
+		if (header == null) {
+			throw new IllegalArgumentException("The CSV input is empty");
+		}
+		Map<String, Integer> columns = new HashMap<>();
+		for (int i = 0; i < header.size(); i++) {
+			columns.put(header.get(i).trim(), i);
+		}
+		List<String> missing = OWNER_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+		if (!missing.isEmpty()) {
+			throw new IllegalArgumentException("The CSV header misses the columns " + missing);
+		}
+		return columns;
+	}
+
+	private Owner toOwner(Row row, int line, OwnerImportReport report) {
+		Owner owner = new Owner();
+		owner.setFirstName(row.get("firstName"));
+		owner.setLastName(row.get("lastName"));
+		owner.setAddress(row.get("address"));
+		owner.setCity(row.get("city"));
+		owner.setTelephone(row.get("telephone"));
+		List<String> violations = this.validator.validate(owner)
+			.stream()
+			.sorted((a, b) -> a.getPropertyPath().toString().compareTo(b.getPropertyPath().toString()))
+			.map(this::describe)
+			.toList();
+		if (!violations.isEmpty()) {
+			report.rejected(line, String.join(", ", violations));
+			return null;
+		}
+		return owner;
+	}
+
+	private Pet toPet(Row row, Owner owner, int line, OwnerImportReport report) {
+		List<String> problems = new ArrayList<>();
+		Pet pet = new Pet();
+		pet.setName(row.get("petName"));
+		String birthDate = row.get("petBirthDate");
+		if (!birthDate.isEmpty()) {
+			try {
+				pet.setBirthDate(LocalDate.parse(birthDate));
+			}
+			catch (DateTimeParseException ex) {
+				problems.add("petBirthDate: " + message("typeMismatch.birthDate"));
+			}
+		}
+		String type = row.get("petType");
+		if (!type.isEmpty()) {
+			this.types.findByName(type).ifPresentOrElse(pet::setType,
+					() -> problems.add("petType: unknown pet type " + type));
+		}
+		Errors errors = new BeanPropertyBindingResult(pet, "pet");
+		this.petValidator.validate(pet, errors);
+		errors.getFieldErrors()
+			.stream()
+			.filter(error -> !(error.getField().equals("birthDate") && !birthDate.isEmpty()))
+			.filter(error -> !(error.getField().equals("type") && !type.isEmpty()))
+			.forEach(error -> problems.add(petColumn(error.getField()) + ": " + message(error.getCode())));
+		if (pet.getBirthDate() != null && pet.getBirthDate().isAfter(LocalDate.now())) {
+			problems.add("petBirthDate: " + message("typeMismatch.birthDate"));
+		}
+		if (pet.getName() != null && owner.getPet(pet.getName()) != null) {
+			problems.add("petName: " + message("duplicate"));
+		}
+		if (!problems.isEmpty()) {
+			report.rejected(line, String.join(", ", problems));
+			return null;
+		}
+		return pet;
+	}
+
+	private void save(Chunk chunk, int lastLine, OwnerImportReport report) {
+		if (!chunk.owners.isEmpty()) {
+			try {
+				this.transactionTemplate.executeWithoutResult(status -> this.owners.saveAll(chunk.owners));
+				report.imported(chunk.owners.size(), chunk.pets);
+			}
+			catch (RuntimeException ex) {
+				logger.warn("Could not save the owners imported from lines " + chunk.lines.get(0) + " to " + lastLine,
+						ex);
+				for (int line : chunk.lines) {
+					report.rejected(line, "not saved");
+				}
+			}
+		}
+		report.committedThrough(lastLine);
+	}
+
+	private String describe(ConstraintViolation<Owner> violation) {
+		return violation.getPropertyPath() + ": " + violation.getMessage();
+	}
+
+	private String message(String code) {
+		return this.messages.getMessage(code, null, code, Locale.ENGLISH);
+	}
+
+	private static String petColumn(String field) {
+		return "pet" + Character.toUpperCase(field.charAt(0)) + field.substring(1);
+	}
+
+	/**
+	 * Owners read since the last save, with the lines they were read from.
+	 */
+	private static final class Chunk {
+
+		private final List<Owner> owners = new ArrayList<>();
+
+		private final List<Integer> lines = new ArrayList<>();
+
+		private int pets;
+
+		private void add(Owner owner, int line) {
+			this.owners.add(owner);
+			this.lines.add(line);
+		}
+
+	}
+
+	/**
+	 * A record accessed by column name.
+	 */
+	private static final class Row {
+
+		private final Map<String, Integer> columns;
+
+		private final List<String> values;
+
+		private Row(Map<String, Integer> columns, List<String> values) {
+			this.columns = columns;
+			this.values = values;
+		}
+
+		private String get(String column) {
+			Integer index = this.columns.get(column);
+			return (index != null && index < this.values.size()) ? this.values.get(index).trim() : "";
+		}
+
+		private List<String> values(List<String> columns) {
+			return columns.stream().map(this::get).collect(Collectors.toList());
+		}
+
+		private boolean hasPet() {
+			return PET_COLUMNS.stream().map(this::get).anyMatch(value -> !value.isEmpty());
+		}
+
+	}
+
+}
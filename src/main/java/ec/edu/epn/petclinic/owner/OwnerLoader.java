@@ -0,0 +1,105 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Request scoped identity map of the {@link Owner}s loaded while handling a request.
+ * <p>
+ * Several <code>@ModelAttribute</code> methods of the owner controllers need the same
+ * owner. Since the persistence context does not outlive a repository call
+ * (<code>spring.jpa.open-in-view=false</code>), each of them would otherwise read the
+ * owner again. Owners are loaded once per request with the requested {@link FetchPlan},
+ * and reloaded only when a later caller needs more of the owner than was loaded.
+ * </p>
+ */
+@Component
+@RequestScope
+class OwnerLoader {
+
+	private final OwnerRepository owners;
+
+	private final Map<Integer, LoadedOwner> loaded = new HashMap<>();
+
+	OwnerLoader(OwnerRepository owners) {
+		this.owners = owners;
+	}
+
+	/**
+	 * Return the {@link Owner} with the given id, loading it if it was not already loaded
+	 * during the current request with a plan covering the given one.
+	 * @param ownerId the id of the owner
+	 * @param plan what must be loaded along with the owner
+	 * @return the owner
+	 * @throws IllegalArgumentException if no owner exists with the given id
+	 */
+	public Owner getOwner(int ownerId, FetchPlan plan) {
+		LoadedOwner current = this.loaded.get(ownerId);
+		if (current != null && current.plan.compareTo(plan) >= 0) {
+			return current.owner;
+		}
+		Owner owner = plan.load(this.owners, ownerId)
+			.orElseThrow(() -> new IllegalArgumentException(
+					"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
+		this.loaded.put(ownerId, new LoadedOwner(owner, plan));
+		return owner;
+	}
+
+	/**
+	 * What to load along with an {@link Owner}, from the least to the most complete.
+	 */
+	enum FetchPlan {
+
+		/**
+		 * Only the owner itself.
+		 */
+		OWNER {
+			@Override
+			Optional<Owner> load(OwnerRepository owners, int ownerId) {
+				return owners.findById(ownerId);
+			}
+		},
+
+		/**
+		 * The owner with its pets and their types.
+		 */
+		PETS {
+			@Override
+			Optional<Owner> load(OwnerRepository owners, int ownerId) {
+				return owners.findWithPetsById(ownerId);
+			}
+		},
+
+		/**
+		 * The owner with its pets, their types and their visits.
+		 */
+		PETS_AND_VISITS {
+			@Override
+			Optional<Owner> load(OwnerRepository owners, int ownerId) {
+				return owners.findWithPetsAndVisitsById(ownerId);
+			}
+		};
+
+		abstract Optional<Owner> load(OwnerRepository owners, int ownerId);
+
+	}
+
+	private static final class LoadedOwner {
+
+		private final Owner owner;
+
+		private final FetchPlan plan;
+
+		private LoadedOwner(Owner owner, FetchPlan plan) {
+			this.owner = owner;
+			this.plan = plan;
+		}
+
+	}
+
+}
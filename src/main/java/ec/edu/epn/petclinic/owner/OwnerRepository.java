@@ -1,17 +1,36 @@
 
 package ec.edu.epn.petclinic.owner;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository class for <code>Owner</code> domain objects. All method names are compliant
  * with Spring Data naming conventions so this interface can easily be extended for Spring
  * Data. See:
  * https://docs.spring.io/spring-data/jpa/docs/current/reference/html/#repositories.query-methods.query-creation
+ * <p>
+ * Last names are searched case-insensitively through the indexed normalized last name
+ * of owners: the names searched for are normalized the same way by
+ * {@link Owner#normalizeLastName(String)}.
+ * </p>
+ * <p>
+ * Owner search results are cached in the <code>ownerSearch</code> cache, which is
+ * cleared whenever owners (and, through them, pets and visits) are saved or deleted
+ * through this repository.
+ * </p>
  */
 public interface OwnerRepository extends JpaRepository<Owner, Integer> {
 
@@ -22,7 +41,124 @@ public interface OwnerRepository extends JpaRepository<Owner, Integer> {
 	 * @return a Collection of matching {@link Owner}s (or an empty Collection if none
 	 * found)
 	 */
-	Page<Owner> findByLastNameStartingWith(String lastName, Pageable pageable);
+	@Query(value = """
+			SELECT o FROM Owner o
+			WHERE o.normalizedLastName LIKE :#{T(ec.edu.epn.petclinic.owner.Owner).normalizeLastName(#lastName)}%
+			""", countQuery = """
+			SELECT count(o) FROM Owner o
+			WHERE o.normalizedLastName LIKE :#{T(ec.edu.epn.petclinic.owner.Owner).normalizeLastName(#lastName)}%
+			""")
+	Page<Owner> findByLastNameStartingWith(@Param("lastName") String lastName, Pageable pageable);
+
+	/**
+	 * Retrieve {@link OwnerSummary owner summaries} whose last name <i>starts</i> with
+	 * the given name, ordered by last name and id. Each summary is built in a single
+	 * statement together with the owner's aggregated pet names, so neither the
+	 * {@link Pet}s nor their {@link Visit}s are loaded.
+	 * @param lastName Value to search for
+	 * @param pageable the page to retrieve
+	 * @return a page of matching {@link OwnerSummary summaries} (or an empty page if none
+	 * found)
+	 */
+	@Query(value = """
+			SELECT new ec.edu.epn.petclinic.owner.OwnerSummary(o.id, o.firstName, o.lastName, o.address, o.city,
+				o.telephone, listagg(p.name, ', ') WITHIN GROUP (ORDER BY p.name))
+			FROM Owner o LEFT JOIN o.pets p
+			WHERE o.normalizedLastName LIKE :#{T(ec.edu.epn.petclinic.owner.Owner).normalizeLastName(#lastName)}%
+			GROUP BY o.id, o.firstName, o.lastName, o.address, o.city, o.telephone
+			ORDER BY o.normalizedLastName, o.id
+			""", countQuery = """
+			SELECT count(o) FROM Owner o
+			WHERE o.normalizedLastName LIKE :#{T(ec.edu.epn.petclinic.owner.Owner).normalizeLastName(#lastName)}%
+			""")
+	@Cacheable(cacheNames = "ownerSearch", key = "{#root.methodName, #lastName, #pageable}")
+	Page<OwnerSummary> findSummariesByLastNameStartingWith(@Param("lastName") String lastName, Pageable pageable);
+
+	/**
+	 * Variant of {@link #findSummariesByLastNameStartingWith(String, Pageable)} that
+	 * skips the <code>COUNT</code> query, only telling whether a following page exists.
+	 * @param lastName Value to search for
+	 * @param pageable the page to retrieve
+	 * @return a slice of matching {@link OwnerSummary summaries}
+	 */
+	@Query("""
+			SELECT new ec.edu.epn.petclinic.owner.OwnerSummary(o.id, o.firstName, o.lastName, o.address, o.city,
+				o.telephone, listagg(p.name, ', ') WITHIN GROUP (ORDER BY p.name))
+			FROM Owner o LEFT JOIN o.pets p
+			WHERE o.normalizedLastName LIKE :#{T(ec.edu.epn.petclinic.owner.Owner).normalizeLastName(#lastName)}%
+			GROUP BY o.id, o.firstName, o.lastName, o.address, o.city, o.telephone
+			ORDER BY o.normalizedLastName, o.id
+			""")
+	@Cacheable(cacheNames = "ownerSearch", key = "{#root.methodName, #lastName, #pageable}")
+	Slice<OwnerSummary> findSummarySliceByLastNameStartingWith(@Param("lastName") String lastName,
+			Pageable pageable);
+
+	/**
+	 * Retrieve the first {@link OwnerSummary owner summaries} whose last name
+	 * <i>starts</i> with the given name, ordered by last name and id. This is the first
+	 * page of a keyset (seek) pagination, see
+	 * {@link #findSummariesByLastNameStartingWithAfter(String, String, int, Limit)}.
+	 * @param lastName Value to search for
+	 * @param limit maximum number of summaries to return
+	 * @return the matching {@link OwnerSummary summaries}
+	 */
+	@Query("""
+			SELECT new ec.edu.epn.petclinic.owner.OwnerSummary(o.id, o.firstName, o.lastName, o.address, o.city,
+				o.telephone, listagg(p.name, ', ') WITHIN GROUP (ORDER BY p.name))
+			FROM Owner o LEFT JOIN o.pets p
+			WHERE o.normalizedLastName LIKE :#{T(ec.edu.epn.petclinic.owner.Owner).normalizeLastName(#lastName)}%
+			GROUP BY o.id, o.firstName, o.lastName, o.address, o.city, o.telephone
+			ORDER BY o.normalizedLastName, o.id
+			""")
+	@Cacheable(cacheNames = "ownerSearch", key = "{#root.methodName, #lastName, #limit}")
+	List<OwnerSummary> findSummariesByLastNameStartingWith(@Param("lastName") String lastName, Limit limit);
+
+	/**
+	 * Retrieve the {@link OwnerSummary owner summaries} whose last name <i>starts</i> with
+	 * the given name and that are positioned after the given last name and id in last
+	 * name, id order. Seeking on <code>(last_name, id)</code> instead of using an
+	 * <code>OFFSET</code> keeps every page as cheap as the first one.
+	 * @param lastName Value to search for
+	 * @param afterLastName last name of the last owner of the previous page
+	 * @param afterId id of the last owner of the previous page
+	 * @param limit maximum number of summaries to return
+	 * @return the matching {@link OwnerSummary summaries}
+	 */
+	@Query("""
+			SELECT new ec.edu.epn.petclinic.owner.OwnerSummary(o.id, o.firstName, o.lastName, o.address, o.city,
+				o.telephone, listagg(p.name, ', ') WITHIN GROUP (ORDER BY p.name))
+			FROM Owner o LEFT JOIN o.pets p
+			WHERE o.normalizedLastName LIKE :#{T(ec.edu.epn.petclinic.owner.Owner).normalizeLastName(#lastName)}%
+				AND (o.normalizedLastName > :#{T(ec.edu.epn.petclinic.owner.Owner).normalizeLastName(#afterLastName)}
+					OR (o.normalizedLastName = :#{T(ec.edu.epn.petclinic.owner.Owner).normalizeLastName(#afterLastName)}
+						AND o.id > :afterId))
+			GROUP BY o.id, o.firstName, o.lastName, o.address, o.city, o.telephone
+			ORDER BY o.normalizedLastName, o.id
+			""")
+	@Cacheable(cacheNames = "ownerSearch",
+			key = "{#root.methodName, #lastName, #afterLastName, #afterId, #limit}")
+	List<OwnerSummary> findSummariesByLastNameStartingWithAfter(@Param("lastName") String lastName,
+			@Param("afterLastName") String afterLastName, @Param("afterId") int afterId, Limit limit);
+
+	/**
+	 * Retrieve the id and names of every {@link Owner}, to build the
+	 * {@link OwnerSuggestions} index.
+	 * @return the suggestions for all owners
+	 */
+	@Query("SELECT new ec.edu.epn.petclinic.owner.OwnerSuggestion(o.id, o.firstName, o.lastName) FROM Owner o")
+	List<OwnerSuggestion> findAllSuggestions();
+
+	/**
+	 * Count the {@link Owner}s whose last name <i>starts</i> with the given name.
+	 * @param lastName Value to search for
+	 * @return the number of matching owners
+	 */
+	@Query("""
+			SELECT count(o) FROM Owner o
+			WHERE o.normalizedLastName LIKE :#{T(ec.edu.epn.petclinic.owner.Owner).normalizeLastName(#lastName)}%
+			""")
+	@Cacheable(cacheNames = "ownerSearch", key = "{#root.methodName, #lastName}")
+	long countByLastNameStartingWith(@Param("lastName") String lastName);
 
 	/**
 	 * Retrieve an {@link Owner} from the data store by id.
@@ -39,4 +175,89 @@ public interface OwnerRepository extends JpaRepository<Owner, Integer> {
 	 */
 	Optional<Owner> findById(Integer id);
 
+	/**
+	 * Retrieve an {@link Owner} from the data store by id together with its {@link Pet}s
+	 * and their {@link PetType}s, in a single query.
+	 * @param id the id to search for
+	 * @return an {@link Optional} containing the {@link Owner} if found, or an empty
+	 * {@link Optional} if not found.
+	 * @see Owner#PETS_GRAPH
+	 */
+	@EntityGraph(Owner.PETS_GRAPH)
+	Optional<Owner> findWithPetsById(Integer id);
+
+	/**
+	 * Retrieve an {@link Owner} from the data store by id together with its {@link Pet}s,
+	 * their {@link PetType}s and their {@link Visit}s.
+	 * <p>
+	 * The visits are read by a second query for all the pets at once: joining them into
+	 * the same query as the pets would repeat each pet once per visit in the owner's pet
+	 * list.
+	 * </p>
+	 * @param id the id to search for
+	 * @return an {@link Optional} containing the {@link Owner} if found, or an empty
+	 * {@link Optional} if not found.
+	 */
+	@Transactional(readOnly = true)
+	default Optional<Owner> findWithPetsAndVisitsById(Integer id) {
+		Optional<Owner> owner = findWithPetsById(id);
+		owner.filter(found -> !found.getPets().isEmpty()).ifPresent(found -> findPetsWithVisitsByOwnerId(id));
+		return owner;
+	}
+
+	/**
+	 * Retrieve the {@link Pet}s of an {@link Owner} together with their {@link Visit}s.
+	 * @param ownerId the id of the owner
+	 * @return the owner's pets
+	 */
+	@Query("SELECT pet FROM Owner owner JOIN owner.pets pet LEFT JOIN FETCH pet.visits WHERE owner.id = :ownerId")
+	List<Pet> findPetsWithVisitsByOwnerId(@Param("ownerId") Integer ownerId);
+
+	/**
+	 * Read the {@link OwnerVersion version} of an {@link Owner}, its {@link Pet}s and
+	 * their {@link Visit}s in a single aggregate query, to tell whether anything shown on
+	 * the owner's page changed without loading it.
+	 * @param id the id of the owner
+	 * @return an {@link Optional} containing the version if the owner exists, or an
+	 * empty {@link Optional} if not found.
+	 */
+	@Query("""
+			SELECT new ec.edu.epn.petclinic.owner.OwnerVersion(o.version, count(DISTINCT pet.id), max(pet.id),
+				(SELECT coalesce(sum(p.version), 0) FROM Pet p WHERE p.owner = o), count(visit.id), max(visit.id))
+			FROM Owner o LEFT JOIN o.pets pet LEFT JOIN pet.visits visit
+			WHERE o.id = :id
+			GROUP BY o.id, o.version
+			""")
+	Optional<OwnerVersion> findVersionById(@Param("id") Integer id);
+
+	/**
+	 * Return whether the {@link Pet} with the given id belongs to the {@link Owner} with
+	 * the given id, without loading either of them.
+	 * @param ownerId the id of the owner
+	 * @param petId the id of the pet
+	 * @return whether the owner has the pet
+	 */
+	@Query("SELECT count(pet) > 0 FROM Owner owner JOIN owner.pets pet WHERE owner.id = :ownerId AND pet.id = :petId")
+	boolean existsPet(@Param("ownerId") Integer ownerId, @Param("petId") Integer petId);
+
+	@Override
+	@CacheEvict(cacheNames = "ownerSearch", allEntries = true)
+	<S extends Owner> S save(S entity);
+
+	@Override
+	@CacheEvict(cacheNames = "ownerSearch", allEntries = true)
+	<S extends Owner> List<S> saveAll(Iterable<S> entities);
+
+	@Override
+	@CacheEvict(cacheNames = "ownerSearch", allEntries = true)
+	void delete(Owner entity);
+
+	@Override
+	@CacheEvict(cacheNames = "ownerSearch", allEntries = true)
+	void deleteById(Integer id);
+
+	@Override
+	@CacheEvict(cacheNames = "ownerSearch", allEntries = true)
+	void deleteAll();
+
 }
@@ -0,0 +1,118 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hibernate.search.mapper.orm.Search;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Full-text search of owners by any of their names, address, city, telephone number or
+ * the names of their pets, served by the embedded Lucene index mapped by
+ * {@link OwnerSearchMappingConfigurer}.
+ * <p>
+ * Every word of a query must match one of the fields: the beginning of a word matches,
+ * and words of {@link #FUZZY_MIN_LENGTH} letters or more also match with one typo. Words
+ * with digits, such as telephone or street numbers, must match exactly.
+ * Results are ranked by relevance and built from the index alone, without querying the
+ * database.
+ * </p>
+ * <p>
+ * The index is rebuilt from the database at startup, unless
+ * <code>petclinic.search.reindex-on-startup</code> is <code>false</code>, and kept up to
+ * date as owners and pets are saved.
+ * </p>
+ */
+@Component
+public class OwnerSearch {
+
+	static final String INDEX = "owners";
+
+	static final int FUZZY_MIN_LENGTH = 4;
+
+	private static final Log logger = LogFactory.getLog(OwnerSearch.class);
+
+	private static final String[] FIELDS = { "firstName", "lastName", "address", "city", "telephone", "pets.name" };
+
+	private final EntityManager entityManager;
+
+	private final EntityManagerFactory entityManagerFactory;
+
+	private final boolean reindexOnStartup;
+
+	OwnerSearch(EntityManager entityManager, EntityManagerFactory entityManagerFactory,
+			@Value("${petclinic.search.reindex-on-startup:true}") boolean reindexOnStartup) {
+		this.entityManager = entityManager;
+		this.entityManagerFactory = entityManagerFactory;
+		this.reindexOnStartup = reindexOnStartup;
+	}
+
+	/**
+	 * Search the owners matching all the words of the given query.
+	 * @param query the words to search for
+	 * @param limit the maximum number of owners to return
+	 * @return the matching owners, the most relevant first
+	 */
+	@Transactional(readOnly = true)
+	public List<OwnerSummary> search(String query, int limit) {
+		List<String> words = Arrays.stream(query.trim().split("\\s+")).filter(word -> !word.isEmpty()).toList();
+		if (words.isEmpty()) {
+			return List.of();
+		}
+		return Search.session(this.entityManager)
+			.search(Owner.class)
+			.select(f -> f
+				.composite()
+				.from(f.id(Integer.class), f.field("firstName", String.class), f.field("lastName", String.class),
+						f.field("address", String.class), f.field("city", String.class),
+						f.field("telephone", String.class), f.field("pets.name", String.class).list())
+				.asList(OwnerSearch::toSummary))
+			.where((f, root) -> {
+				for (String word : words) {
+					root.add(f.match()
+						.fields(FIELDS)
+						.matching(word)
+						.fuzzy(isFuzzy(word) ? 1 : 0, 1));
+				}
+			})
+			.fetchHits(limit);
+	}
+
+	/**
+	 * Rebuild the index from the database once the application has started.
+	 * @throws InterruptedException if interrupted while indexing
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void reindex() throws InterruptedException {
+		if (this.reindexOnStartup) {
+			long start = System.nanoTime();
+			Search.mapping(this.entityManagerFactory).scope(Owner.class).massIndexer().startAndWait();
+			if (logger.isInfoEnabled()) {
+				logger.info("Indexed owners in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+			}
+		}
+	}
+
+	private static boolean isFuzzy(String word) {
+		return word.length() >= FUZZY_MIN_LENGTH && word.chars().noneMatch(Character::isDigit);
+	}
+
+	private static OwnerSummary toSummary(List<?> values) {
+		@SuppressWarnings("unchecked")
+		List<String> pets = (List<String>) values.get(6);
+		return new OwnerSummary((Integer) values.get(0), (String) values.get(1), (String) values.get(2),
+				(String) values.get(3), (String) values.get(4), (String) values.get(5),
+				String.join(", ", pets.stream().sorted().toList()));
+	}
+
+}
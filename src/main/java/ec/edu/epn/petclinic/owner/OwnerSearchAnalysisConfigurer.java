@@ -0,0 +1,74 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import org.apache.lucene.analysis.core.KeywordTokenizerFactory;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilterFactory;
+import org.apache.lucene.analysis.ngram.EdgeNGramFilterFactory;
+import org.apache.lucene.analysis.pattern.PatternReplaceCharFilterFactory;
+import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurationContext;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurer;
+
+/**
+ * Analyzers of the owner search index. Names are indexed as all their prefixes so that
+ * a partial name matches, and searched for as whole words; telephone numbers are reduced
+ * to their digits, whatever the separators typed.
+ */
+public class OwnerSearchAnalysisConfigurer implements LuceneAnalysisConfigurer {
+
+	/**
+	 * Words, lower-cased and without accents.
+	 */
+	static final String NAME = "name";
+
+	/**
+	 * The prefixes of the words of {@link #NAME}.
+	 */
+	static final String NAME_PREFIX = "name_prefix";
+
+	/**
+	 * The digits of a telephone number, as a single word.
+	 */
+	static final String TELEPHONE = "telephone";
+
+	/**
+	 * The prefixes of {@link #TELEPHONE}.
+	 */
+	static final String TELEPHONE_PREFIX = "telephone_prefix";
+
+	private static final String MAX_PREFIX_LENGTH = "20";
+
+	@Override
+	public void configure(LuceneAnalysisConfigurationContext context) {
+		context.analyzer(NAME)
+			.custom()
+			.tokenizer(StandardTokenizerFactory.class)
+			.tokenFilter(LowerCaseFilterFactory.class)
+			.tokenFilter(ASCIIFoldingFilterFactory.class);
+		context.analyzer(NAME_PREFIX)
+			.custom()
+			.tokenizer(StandardTokenizerFactory.class)
+			.tokenFilter(LowerCaseFilterFactory.class)
+			.tokenFilter(ASCIIFoldingFilterFactory.class)
+			.tokenFilter(EdgeNGramFilterFactory.class)
+			.param("minGramSize", "1")
+			.param("maxGramSize", MAX_PREFIX_LENGTH);
+		context.analyzer(TELEPHONE)
+			.custom()
+			.tokenizer(KeywordTokenizerFactory.class)
+			.charFilter(PatternReplaceCharFilterFactory.class)
+			.param("pattern", "[^0-9]")
+			.param("replacement", "");
+		context.analyzer(TELEPHONE_PREFIX)
+			.custom()
+			.tokenizer(KeywordTokenizerFactory.class)
+			.charFilter(PatternReplaceCharFilterFactory.class)
+			.param("pattern", "[^0-9]")
+			.param("replacement", "")
+			.tokenFilter(EdgeNGramFilterFactory.class)
+			.param("minGramSize", "1")
+			.param("maxGramSize", MAX_PREFIX_LENGTH);
+	}
+
+}
@@ -0,0 +1,72 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.util.Assert;
+
+/**
+ * Position in the owner search results used for keyset (seek) pagination. Owners are
+ * listed ordered by last name and id, so the last name and id of the last row on a page
+ * are enough to fetch the next page without an <code>OFFSET</code>.
+ * <p>
+ * Cursors travel through the <code>cursor</code> request parameter in an opaque, URL
+ * safe form produced by {@link #encode()}.
+ * </p>
+ */
+final class OwnerSearchCursor {
+
+	private static final char SEPARATOR = ':';
+
+	private final String lastName;
+
+	private final int id;
+
+	OwnerSearchCursor(String lastName, int id) {
+		Assert.notNull(lastName, "Last name must not be null!");
+		this.lastName = lastName;
+		this.id = id;
+	}
+
+	/**
+	 * Create the cursor pointing right after the given search result.
+	 * @param owner the last owner shown on a page, must not be {@literal null}.
+	 * @return the cursor for the following page
+	 */
+	static OwnerSearchCursor after(OwnerSummary owner) {
+		return new OwnerSearchCursor(owner.getLastName(), owner.getId());
+	}
+
+	/**
+	 * Decode a cursor previously produced by {@link #encode()}.
+	 * @param cursor the encoded cursor
+	 * @return the decoded cursor
+	 * @throws IllegalArgumentException if the cursor is malformed
+	 */
+	static OwnerSearchCursor decode(String cursor) {
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separator = decoded.indexOf(SEPARATOR);
+			return new OwnerSearchCursor(decoded.substring(separator + 1),
+					Integer.parseInt(decoded.substring(0, separator)));
+		}
+		catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+			throw new IllegalArgumentException("Invalid owner search cursor: " + cursor, ex);
+		}
+	}
+
+	String encode() {
+		String raw = this.id + String.valueOf(SEPARATOR) + this.lastName;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	String getLastName() {
+		return this.lastName;
+	}
+
+	int getId() {
+		return this.id;
+	}
+
+}
@@ -0,0 +1,53 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import org.hibernate.search.engine.backend.types.Projectable;
+import org.hibernate.search.mapper.orm.mapping.HibernateOrmMappingConfigurationContext;
+import org.hibernate.search.mapper.orm.mapping.HibernateOrmSearchMappingConfigurer;
+import org.hibernate.search.mapper.pojo.mapping.definition.programmatic.ProgrammaticMappingConfigurationContext;
+import org.hibernate.search.mapper.pojo.mapping.definition.programmatic.TypeMappingStep;
+import org.hibernate.search.mapper.pojo.model.path.PojoModelPath;
+
+import static ec.edu.epn.petclinic.owner.OwnerSearchAnalysisConfigurer.NAME;
+import static ec.edu.epn.petclinic.owner.OwnerSearchAnalysisConfigurer.NAME_PREFIX;
+import static ec.edu.epn.petclinic.owner.OwnerSearchAnalysisConfigurer.TELEPHONE;
+import static ec.edu.epn.petclinic.owner.OwnerSearchAnalysisConfigurer.TELEPHONE_PREFIX;
+
+/**
+ * Maps {@link Owner}s, with the names of their {@link Pet}s, to the full-text search
+ * index. The index is updated by Hibernate Search whenever an owner or one of its pets is
+ * saved. All fields searched are also projectable so that search results are built from
+ * the index alone, see {@link OwnerSearch}.
+ */
+public class OwnerSearchMappingConfigurer implements HibernateOrmSearchMappingConfigurer {
+
+	@Override
+	public void configure(HibernateOrmMappingConfigurationContext context) {
+		ProgrammaticMappingConfigurationContext mapping = context.programmaticMapping();
+
+		TypeMappingStep owner = mapping.type(Owner.class);
+		owner.indexed().index(OwnerSearch.INDEX);
+		owner.property("firstName")
+			.fullTextField()
+			.analyzer(NAME_PREFIX)
+			.searchAnalyzer(NAME)
+			.projectable(Projectable.YES);
+		owner.property("lastName")
+			.fullTextField()
+			.analyzer(NAME_PREFIX)
+			.searchAnalyzer(NAME)
+			.projectable(Projectable.YES);
+		owner.property("address").fullTextField().analyzer(NAME).projectable(Projectable.YES);
+		owner.property("city").fullTextField().analyzer(NAME_PREFIX).searchAnalyzer(NAME).projectable(Projectable.YES);
+		owner.property("telephone")
+			.fullTextField()
+			.analyzer(TELEPHONE_PREFIX)
+			.searchAnalyzer(TELEPHONE)
+			.projectable(Projectable.YES);
+		owner.property("pets").indexedEmbedded().associationInverseSide(PojoModelPath.parse("owner"));
+
+		TypeMappingStep pet = mapping.type(Pet.class);
+		pet.property("name").fullTextField().analyzer(NAME_PREFIX).searchAnalyzer(NAME).projectable(Projectable.YES);
+	}
+
+}
@@ -0,0 +1,36 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Last name typeahead of the find owners form, answered from {@link OwnerSuggestions}
+ * without querying the database.
+ */
+@RestController
+class OwnerSuggestController {
+
+	static final int MAX_LIMIT = 50;
+
+	private final OwnerSuggestions suggestions;
+
+	OwnerSuggestController(OwnerSuggestions suggestions) {
+		this.suggestions = suggestions;
+	}
+
+	@GetMapping(path = "/owners/suggest", produces = "application/json")
+	public List<OwnerSuggestion> suggest(@RequestParam(defaultValue = "") String q,
+			@RequestParam(defaultValue = "10") int limit) {
+		if (limit < 1 || limit > MAX_LIMIT) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+		}
+		return this.suggestions.suggest(q, limit);
+	}
+
+}
@@ -0,0 +1,11 @@
+
+package ec.edu.epn.petclinic.owner;
+
+/**
+ * An {@link Owner} suggested while typing a last name, see {@link OwnerSuggestions}.
+ * @param id the id of the owner
+ * @param firstName the first name of the owner
+ * @param lastName the last name of the owner
+ */
+public record OwnerSuggestion(Integer id, String firstName, String lastName) {
+}
@@ -0,0 +1,55 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener keeping {@link OwnerSuggestions} up to date whenever an
+ * {@link Owner} is inserted, updated or deleted. When a transaction is active the change
+ * is applied once it commits, so that a rolled back change is never suggested.
+ * <p>
+ * Hibernate creates this listener through the Spring bean container.
+ * </p>
+ */
+class OwnerSuggestionListener {
+
+	private final ObjectProvider<OwnerSuggestions> suggestions;
+
+	OwnerSuggestionListener(ObjectProvider<OwnerSuggestions> suggestions) {
+		this.suggestions = suggestions;
+	}
+
+	@PostPersist
+	@PostUpdate
+	void onSave(Owner owner) {
+		OwnerSuggestion suggestion = new OwnerSuggestion(owner.getId(), owner.getFirstName(), owner.getLastName());
+		afterCommit(() -> this.suggestions.ifAvailable(suggestions -> suggestions.put(suggestion)));
+	}
+
+	@PostRemove
+	void onRemove(Owner owner) {
+		Integer ownerId = owner.getId();
+		afterCommit(() -> this.suggestions.ifAvailable(suggestions -> suggestions.remove(ownerId)));
+	}
+
+	private static void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		}
+		else {
+			action.run();
+		}
+	}
+
+}
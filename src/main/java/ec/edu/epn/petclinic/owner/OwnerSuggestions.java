@@ -0,0 +1,153 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index of the {@link Owner}s by {@link Owner#normalizeLastName(String)
+ * normalized} last name, answering the last name typeahead of the find owners form
+ * without querying the database.
+ * <p>
+ * Owners are kept in a concurrent skip list sorted by normalized last name and id, so
+ * the owners whose last name starts with a prefix are a contiguous range found in
+ * logarithmic time, and a single owner is added, renamed or removed without rebuilding
+ * the rest. The index is loaded from the database once the application has started and
+ * then updated by {@link OwnerSuggestionListener} as owners are saved and deleted.
+ * </p>
+ * <p>
+ * Each owner is updated atomically under its entry in the id map, so concurrent renames
+ * of the same owner leave a single entry in the skip list. Owners saved or deleted while
+ * the index is loading keep the listener's more recent update rather than the one read
+ * by {@link #load()}.
+ * </p>
+ */
+@Component
+public class OwnerSuggestions {
+
+	private static final Log logger = LogFactory.getLog(OwnerSuggestions.class);
+
+	private final OwnerRepository owners;
+
+	private final NavigableMap<Key, OwnerSuggestion> byLastName = new ConcurrentSkipListMap<>();
+
+	private final Map<Integer, Key> keys = new ConcurrentHashMap<>();
+
+	/**
+	 * Ids of the owners updated by the listener since {@link #load()} started reading the
+	 * owners, or {@literal null} when the index is not loading.
+	 */
+	private volatile Set<Integer> updatedWhileLoading;
+
+	OwnerSuggestions(OwnerRepository owners) {
+		this.owners = owners;
+	}
+
+	/**
+	 * Return the owners whose last name starts with the given prefix, regardless of case.
+	 * @param prefix the beginning of the last name
+	 * @param limit the maximum number of owners to return
+	 * @return the matching owners ordered by last name and id, or an empty list if the
+	 * prefix is blank
+	 */
+	public List<OwnerSuggestion> suggest(String prefix, int limit) {
+		String normalized = Owner.normalizeLastName(prefix.strip());
+		if (normalized.isEmpty()) {
+			return List.of();
+		}
+		List<OwnerSuggestion> suggestions = new ArrayList<>(limit);
+		for (OwnerSuggestion suggestion : this.byLastName
+			.subMap(new Key(normalized, Integer.MIN_VALUE), new Key(normalized + Character.MAX_VALUE, Integer.MIN_VALUE))
+			.values()) {
+			if (suggestions.size() == limit) {
+				break;
+			}
+			suggestions.add(suggestion);
+		}
+		return suggestions;
+	}
+
+	/**
+	 * Load all the owners from the database once the application has started.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		long start = System.nanoTime();
+		this.updatedWhileLoading = ConcurrentHashMap.newKeySet();
+		List<OwnerSuggestion> all;
+		try {
+			all = this.owners.findAllSuggestions();
+			all.forEach(owner -> update(owner.id(), owner, true));
+		}
+		finally {
+			this.updatedWhileLoading = null;
+		}
+		if (logger.isInfoEnabled()) {
+			logger.info("Loaded " + all.size() + " owner suggestions in " + (System.nanoTime() - start) / 1_000_000
+					+ " ms");
+		}
+	}
+
+	void put(OwnerSuggestion owner) {
+		update(owner.id(), owner, false);
+	}
+
+	void remove(Integer ownerId) {
+		update(ownerId, null, false);
+	}
+
+	/**
+	 * Replace the entry of an owner, atomically with respect to any other update of the
+	 * same owner.
+	 * @param ownerId the id of the owner
+	 * @param owner the owner to index, or {@literal null} to remove it. An owner without a
+	 * last name is removed as well
+	 * @param loaded whether the owner was read by {@link #load()} rather than saved
+	 */
+	private void update(Integer ownerId, OwnerSuggestion owner, boolean loaded) {
+		this.keys.compute(ownerId, (id, previous) -> {
+			Set<Integer> updated = this.updatedWhileLoading;
+			if (updated != null) {
+				if (loaded && updated.contains(id)) {
+					// updated since it was read, with its more recent state
+					return previous;
+				}
+				if (!loaded) {
+					updated.add(id);
+				}
+			}
+			// an owner without a last name matches no prefix, so it is not indexed
+			Key key = (owner != null && owner.lastName() != null)
+					? new Key(Owner.normalizeLastName(owner.lastName()), id) : null;
+			if (previous != null && !previous.equals(key)) {
+				this.byLastName.remove(previous);
+			}
+			if (key != null) {
+				this.byLastName.put(key, owner);
+			}
+			return key;
+		});
+	}
+
+	private record Key(String lastName, int id) implements Comparable<Key> {
+
+		@Override
+		public int compareTo(Key other) {
+			int result = this.lastName.compareTo(other.lastName);
+			return (result != 0) ? result : Integer.compare(this.id, other.id);
+		}
+
+	}
+
+}
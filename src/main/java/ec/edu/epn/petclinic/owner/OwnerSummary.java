@@ -0,0 +1,80 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import org.springframework.core.style.ToStringCreator;
+
+/**
+ * Read-only projection of an {@link Owner} used by the owner search results. It carries
+ * only the columns rendered by the <code>owners/ownersList</code> view plus the owner's
+ * pet names already aggregated by the database, so listing owners never loads their
+ * {@link Pet} or {@link Visit} graph.
+ */
+public class OwnerSummary {
+
+	private final Integer id;
+
+	private final String firstName;
+
+	private final String lastName;
+
+	private final String address;
+
+	private final String city;
+
+	private final String telephone;
+
+	private final String pets;
+
+	public OwnerSummary(Integer id, String firstName, String lastName, String address, String city,
+			String telephone, String pets) {
+		this.id = id;
+		this.firstName = firstName;
+		this.lastName = lastName;
+		this.address = address;
+		this.city = city;
+		this.telephone = telephone;
+		this.pets = pets;
+	}
+
+	public Integer getId() {
+		return this.id;
+	}
+
+	public String getFirstName() {
+		return this.firstName;
+	}
+
+	public String getLastName() {
+		return this.lastName;
+	}
+
+	public String getAddress() {
+		return this.address;
+	}
+
+	public String getCity() {
+		return this.city;
+	}
+
+	public String getTelephone() {
+		return this.telephone;
+	}
+
+	/**
+	 * Return the names of the owner's pets, ordered by name and separated by commas.
+	 * @return the pet names, or an empty String if the owner has no pets
+	 */
+	public String getPets() {
+		return (this.pets != null) ? this.pets : "";
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringCreator(this).append("id", this.id)
+			.append("lastName", this.lastName)
+			.append("firstName", this.firstName)
+			.append("pets", this.pets)
+			.toString();
+	}
+
+}
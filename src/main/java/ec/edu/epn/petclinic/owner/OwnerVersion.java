@@ -0,0 +1,37 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Version of everything shown on an owner page, read by
+ * {@link OwnerRepository#findVersionById(Integer)} without loading the owner.
+ * <p>
+ * Updates to the owner or its pets increment their own version. Visits are only ever
+ * added, so their number and latest id are enough to notice new ones, and likewise the
+ * number of pets and their latest id catch a pet being added or removed whatever the
+ * versions of the others.
+ * </p>
+ * @param owner the version of the owner
+ * @param pets the number of pets of the owner
+ * @param lastPetId the highest id of the owner's pets
+ * @param petVersions the sum of the versions of the owner's pets
+ * @param visits the number of visits of the owner's pets
+ * @param lastVisitId the highest id of those visits
+ */
+public record OwnerVersion(Number owner, Number pets, Number lastPetId, Number petVersions, Number visits,
+		Number lastVisitId) {
+
+	/**
+	 * Return the version as a single value, changing whenever any part changes.
+	 * @return the dot-separated parts of the version
+	 */
+	public String tag() {
+		return Stream.of(this.owner, this.pets, this.lastPetId, this.petVersions, this.visits, this.lastVisitId)
+			.map(part -> Objects.toString(part, "0"))
+			.collect(Collectors.joining("."));
+	}
+
+}
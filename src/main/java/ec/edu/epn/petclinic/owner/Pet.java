@@ -18,6 +18,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 /**
  * Simple business object representing a pet.
@@ -34,11 +35,36 @@ public class Pet extends NamedEntity {
 	@JoinColumn(name = "type_id")
 	private PetType type;
 
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
-	@JoinColumn(name = "pet_id")
+	@Version
+	private Integer version;
+
+	/**
+	 * Read-only side of {@link Owner#getPets()}, which maintains the
+	 * <code>owner_id</code> column. It lets the search index find the owner to reindex
+	 * when a pet changes.
+	 */
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "owner_id", insertable = false, updatable = false)
+	private Owner owner;
+
+	@OneToMany(mappedBy = "pet", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	@OrderBy("date ASC")
 	private final Set<Visit> visits = new LinkedHashSet<>();
 
+	private transient PetIndex index;
+
+	@Override
+	public void setId(Integer id) {
+		super.setId(id);
+		invalidateIndex();
+	}
+
+	@Override
+	public void setName(String name) {
+		super.setName(name);
+		invalidateIndex();
+	}
+
 	public void setBirthDate(LocalDate birthDate) {
 		this.birthDate = birthDate;
 	}
@@ -60,7 +86,26 @@ public class Pet extends NamedEntity {
 	}
 
 	public void addVisit(Visit visit) {
+		visit.setPet(this);
 		getVisits().add(visit);
 	}
 
+	void setOwner(Owner owner) {
+		this.owner = owner;
+	}
+
+	/**
+	 * Register the index of the owner's pets to invalidate when this pet is renamed or
+	 * given another id.
+	 */
+	void setIndex(PetIndex index) {
+		this.index = index;
+	}
+
+	private void invalidateIndex() {
+		if (this.index != null) {
+			this.index.invalidate();
+		}
+	}
+
 }
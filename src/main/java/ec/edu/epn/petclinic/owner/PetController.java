@@ -4,7 +4,6 @@ package ec.edu.epn.petclinic.owner;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Objects;
-import java.util.Optional;
 
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.ModelMap;
@@ -19,6 +18,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 
+import ec.edu.epn.petclinic.owner.OwnerLoader.FetchPlan;
 import jakarta.validation.Valid;
 
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
@@ -31,23 +31,24 @@ class PetController {
 
 	private final OwnerRepository owners;
 
-	private final PetTypeRepository types;
+	private final OwnerLoader ownerLoader;
 
-	public PetController(OwnerRepository owners, PetTypeRepository types) {
+	private final PetTypeIndex types;
+
+	public PetController(OwnerRepository owners, OwnerLoader ownerLoader, PetTypeIndex types) {
 		this.owners = owners;
+		this.ownerLoader = ownerLoader;
 		this.types = types;
 	}
 
 	@ModelAttribute("types")
 	public Collection<PetType> populatePetTypes() {
-		return this.types.findPetTypes();
+		return this.types.getPetTypes();
 	}
 
 	@ModelAttribute("owner")
 	public Owner findOwner(@PathVariable("ownerId") int ownerId) {
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
-		return optionalOwner.orElseThrow(() -> new IllegalArgumentException(
-				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
+		return this.ownerLoader.getOwner(ownerId, FetchPlan.PETS);
 	}
 
 	@ModelAttribute("pet")
@@ -58,10 +59,7 @@ class PetController {
 			return new Pet();
 		}
 
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
-				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
-		return owner.getPet(petId);
+		return this.ownerLoader.getOwner(ownerId, FetchPlan.PETS).getPet(petId);
 	}
 
 	@InitBinder("owner")
@@ -114,11 +112,15 @@ class PetController {
 
 		String petName = pet.getName();
 
-		// checking if the pet name already exists for the owner
+		// checking if the pet name already exists for the owner; the edited pet is the
+		// owner's own instance, so it has already been renamed and must be skipped
 		if (StringUtils.hasText(petName)) {
-			Pet existingPet = owner.getPet(petName, false);
-			if (existingPet != null && !Objects.equals(existingPet.getId(), pet.getId())) {
-				result.rejectValue("name", "duplicate", "already exists");
+			for (Pet existingPet : owner.getPets()) {
+				if (petName.equalsIgnoreCase(existingPet.getName())
+						&& !Objects.equals(existingPet.getId(), pet.getId())) {
+					result.rejectValue("name", "duplicate", "already exists");
+					break;
+				}
 			}
 		}
 
@@ -0,0 +1,104 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Lookup index over the {@link Pet}s of an {@link Owner}, by id and by case-insensitive
+ * name, so that finding a pet does not scan and compare every pet of the owner.
+ * <p>
+ * The index is transient state of the owner. It is kept up to date by
+ * {@link Owner#addPet(Pet)}, invalidated when an indexed pet is renamed or given another
+ * id, and rebuilt on the next lookup when the owner's list of pets changed size. Ids
+ * assigned by the persistence provider to pets that were new when indexed are picked up
+ * on lookup.
+ * </p>
+ */
+final class PetIndex {
+
+	private final Map<Integer, Pet> byId = new HashMap<>();
+
+	// same comparison as String#equalsIgnoreCase, without allocating on lookup
+	private final Map<String, Pet> byName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+	private final List<Pet> unsaved = new ArrayList<>();
+
+	private final List<Pet> pets;
+
+	private int size;
+
+	private boolean valid = true;
+
+	PetIndex(List<Pet> pets) {
+		this.pets = pets;
+		for (Pet pet : pets) {
+			add(pet);
+		}
+	}
+
+	/**
+	 * Whether the index still reflects the pets it was built from.
+	 */
+	boolean isValid() {
+		return this.valid && this.size == this.pets.size();
+	}
+
+	void invalidate() {
+		this.valid = false;
+	}
+
+	/**
+	 * Index a pet appended to the owner's list of pets.
+	 */
+	void add(Pet pet) {
+		pet.setIndex(this);
+		this.size++;
+		if (pet.isNew()) {
+			this.unsaved.add(pet);
+		}
+		else {
+			this.byId.putIfAbsent(pet.getId(), pet);
+		}
+		if (pet.getName() != null) {
+			this.byName.putIfAbsent(pet.getName(), pet);
+		}
+	}
+
+	Pet get(Integer id) {
+		if (id == null) {
+			return null;
+		}
+		Pet pet = this.byId.get(id);
+		if (pet != null) {
+			return pet;
+		}
+		for (Pet candidate : this.unsaved) {
+			if (id.equals(candidate.getId())) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	Pet get(String name, boolean ignoreNew) {
+		if (name == null) {
+			return null;
+		}
+		Pet pet = this.byName.get(name);
+		if (pet == null || !ignoreNew || !pet.isNew()) {
+			return pet;
+		}
+		// the first pet with that name is not saved yet, look for a saved one after it
+		for (Pet candidate : this.pets) {
+			if (!candidate.isNew() && name.equalsIgnoreCase(candidate.getName())) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,32 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import ec.edu.epn.petclinic.system.CacheReloader;
+
+/**
+ * Reloads the list of pet types cached by {@link PetTypeRepository#findPetTypes()}.
+ */
+@Component
+class PetTypeCacheReloader implements CacheReloader {
+
+	private final PetTypeRepository types;
+
+	PetTypeCacheReloader(PetTypeRepository types) {
+		this.types = types;
+	}
+
+	@Override
+	public String getCacheName() {
+		return "petTypes";
+	}
+
+	@Override
+	public Object reload(Object key) {
+		return SimpleKey.EMPTY.equals(key) ? this.types.findAll(Sort.by("name")) : null;
+	}
+
+}
@@ -0,0 +1,80 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Immutable in-memory index of the {@link PetType}s by name, shared by the pet forms and
+ * the {@link PetTypeFormatter} so that rendering and binding a pet form do not query the
+ * database.
+ * <p>
+ * The index is derived from the list cached by {@link PetTypeRepository#findPetTypes()}
+ * and rebuilt whenever that list is replaced, i.e. when pet types are saved or deleted
+ * through the repository or when the cached list is refreshed.
+ * </p>
+ */
+@Component
+public class PetTypeIndex {
+
+	private final PetTypeRepository types;
+
+	private volatile Snapshot snapshot;
+
+	public PetTypeIndex(PetTypeRepository types) {
+		this.types = types;
+	}
+
+	/**
+	 * Return all {@link PetType}s ordered by name.
+	 * @return an unmodifiable list of pet types
+	 */
+	public List<PetType> getPetTypes() {
+		return snapshot().types;
+	}
+
+	/**
+	 * Find the {@link PetType} with the given name.
+	 * @param name the exact name of the pet type
+	 * @return the pet type, or an empty Optional if there is none with that name
+	 */
+	public Optional<PetType> findByName(String name) {
+		return Optional.ofNullable(snapshot().byName.get(name));
+	}
+
+	private Snapshot snapshot() {
+		List<PetType> current = this.types.findPetTypes();
+		Snapshot snapshot = this.snapshot;
+		if (snapshot == null || snapshot.source != current) {
+			snapshot = new Snapshot(current);
+			this.snapshot = snapshot;
+		}
+		return snapshot;
+	}
+
+	private static final class Snapshot {
+
+		private final List<PetType> source;
+
+		private final List<PetType> types;
+
+		private final Map<String, PetType> byName;
+
+		private Snapshot(List<PetType> source) {
+			this.source = source;
+			this.types = List.copyOf(source);
+			Map<String, PetType> byName = new LinkedHashMap<>();
+			for (PetType type : this.types) {
+				byName.putIfAbsent(type.getName(), type);
+			}
+			this.byName = Collections.unmodifiableMap(byName);
+		}
+
+	}
+
+}
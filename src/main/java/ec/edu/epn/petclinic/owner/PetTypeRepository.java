@@ -4,11 +4,15 @@ package ec.edu.epn.petclinic.owner;
 
 import java.util.List;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 /**
- * Repository class for <code>PetType</code> domain objects.
+ * Repository class for <code>PetType</code> domain objects. The list of pet types is
+ * cached in the <code>petTypes</code> cache, which is cleared whenever pet types are
+ * saved or deleted through this repository.
  */
 
 public interface PetTypeRepository extends JpaRepository<PetType, Integer> {
@@ -18,6 +22,27 @@ public interface PetTypeRepository extends JpaRepository<PetType, Integer> {
 	 * @return a Collection of {@link PetType}s.
 	 */
 	@Query("SELECT ptype FROM PetType ptype ORDER BY ptype.name")
+	@Cacheable("petTypes")
 	List<PetType> findPetTypes();
 
+	@Override
+	@CacheEvict(cacheNames = "petTypes", allEntries = true)
+	<S extends PetType> S save(S entity);
+
+	@Override
+	@CacheEvict(cacheNames = "petTypes", allEntries = true)
+	<S extends PetType> List<S> saveAll(Iterable<S> entities);
+
+	@Override
+	@CacheEvict(cacheNames = "petTypes", allEntries = true)
+	void delete(PetType entity);
+
+	@Override
+	@CacheEvict(cacheNames = "petTypes", allEntries = true)
+	void deleteById(Integer id);
+
+	@Override
+	@CacheEvict(cacheNames = "petTypes", allEntries = true)
+	void deleteAll();
+
 }
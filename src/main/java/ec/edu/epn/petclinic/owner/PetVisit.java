@@ -0,0 +1,10 @@
+package ec.edu.epn.petclinic.owner;
+
+/**
+ * A {@link Visit} along with the id of the {@link Pet} it was made for, which the visit
+ * itself does not expose.
+ * @param petId the id of the pet
+ * @param visit the visit
+ */
+public record PetVisit(Integer petId, Visit visit) {
+}
@@ -0,0 +1,52 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The most recent {@link Visit}s of each pet of an owner shown on the owner details page,
+ * together with whether each pet has older visits to load on demand.
+ */
+public class RecentVisits {
+
+	private final Map<Integer, List<Visit>> visits = new HashMap<>();
+
+	private final int perPet;
+
+	/**
+	 * Create the recent visits from the result of
+	 * {@link VisitRepository#findLatestByOwnerId(Integer, long)}, called with one more
+	 * visit per pet than shown to tell whether a pet has older visits.
+	 * @param latest the latest visits of each pet, at most <code>perPet + 1</code> each
+	 * @param perPet the number of visits to show per pet
+	 */
+	RecentVisits(List<PetVisit> latest, int perPet) {
+		this.perPet = perPet;
+		for (PetVisit visit : latest) {
+			this.visits.computeIfAbsent(visit.petId(), petId -> new ArrayList<>()).add(visit.visit());
+		}
+	}
+
+	/**
+	 * Return the most recent visits of the given pet, the most recent first.
+	 * @param pet the pet
+	 * @return the visits, possibly empty
+	 */
+	public List<Visit> of(Pet pet) {
+		List<Visit> visits = this.visits.getOrDefault(pet.getId(), List.of());
+		return (visits.size() > this.perPet) ? visits.subList(0, this.perPet) : visits;
+	}
+
+	/**
+	 * Return whether the given pet has older visits than the ones returned by
+	 * {@link #of(Pet)}.
+	 * @param pet the pet
+	 * @return whether more visits can be loaded
+	 */
+	public boolean hasMore(Pet pet) {
+		return this.visits.getOrDefault(pet.getId(), List.of()).size() > this.perPet;
+	}
+
+}
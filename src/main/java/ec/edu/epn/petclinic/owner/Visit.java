@@ -8,6 +8,9 @@ import ec.edu.epn.petclinic.model.BaseEntity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 
@@ -25,6 +28,10 @@ public class Visit extends BaseEntity {
 	@NotBlank
 	private String description;
 
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "pet_id")
+	private Pet pet;
+
 	/**
 	 * Creates a new instance of Visit for the current date
 	 */
@@ -48,4 +55,13 @@ public class Visit extends BaseEntity {
 		this.description = description;
 	}
 
+	/**
+	 * Set the {@link Pet} this visit is made for, which owns the <code>pet_id</code>
+	 * column. Visits are normally added through {@link Pet#addVisit(Visit)}; booking a
+	 * visit sets a reference to the pet instead so that the pet is not loaded.
+	 */
+	void setPet(Pet pet) {
+		this.pet = pet;
+	}
+
 }
@@ -0,0 +1,46 @@
+package ec.edu.epn.petclinic.owner;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Books visits with a single <code>INSERT</code>, whatever the history of the pet and of
+ * its owner. Neither the owner nor the pet is loaded: the pet is checked to belong to the
+ * owner with an existence query and the visit refers to the pet by id only.
+ */
+@Component
+class VisitBooker {
+
+	private final OwnerRepository owners;
+
+	private final VisitRepository visits;
+
+	private final EntityManager entityManager;
+
+	VisitBooker(OwnerRepository owners, VisitRepository visits, EntityManager entityManager) {
+		this.owners = owners;
+		this.visits = visits;
+		this.entityManager = entityManager;
+	}
+
+	/**
+	 * Book the given new visit for a pet of an owner.
+	 * @param ownerId the id of the owner
+	 * @param petId the id of the pet
+	 * @param visit the visit to book
+	 * @return the booked visit
+	 * @throws IllegalArgumentException if the owner has no pet with the given id
+	 */
+	@Transactional
+	public Visit book(int ownerId, int petId, Visit visit) {
+		if (!this.owners.existsPet(ownerId, petId)) {
+			throw new IllegalArgumentException(
+					"Pet with id " + petId + " not found for owner with id " + ownerId + ".");
+		}
+		visit.setPet(this.entityManager.getReference(Pet.class, petId));
+		return this.visits.save(visit);
+	}
+
+}
@@ -2,8 +2,8 @@
 package ec.edu.epn.petclinic.owner;
 
 import java.util.Map;
-import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.WebDataBinder;
@@ -13,16 +13,25 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 
+import ec.edu.epn.petclinic.owner.OwnerLoader.FetchPlan;
 import jakarta.validation.Valid;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 @Controller
 class VisitController {
 
-	private final OwnerRepository owners;
+	private static final String VIEWS_VISIT_CREATE_FORM = "pets/createOrUpdateVisitForm";
 
-	public VisitController(OwnerRepository owners) {
-		this.owners = owners;
+	private final OwnerLoader ownerLoader;
+
+	private final VisitRepository visits;
+
+	private final VisitBooker visitBooker;
+
+	public VisitController(OwnerLoader ownerLoader, VisitRepository visits, VisitBooker visitBooker) {
+		this.ownerLoader = ownerLoader;
+		this.visits = visits;
+		this.visitBooker = visitBooker;
 	}
 
 	@InitBinder
@@ -31,52 +40,48 @@ class VisitController {
 	}
 
 	/**
-	 * Called before each and every @RequestMapping annotated method. 2 goals: - Make sure
-	 * we always have fresh data - Since we do not use the session scope, make sure that
-	 * Pet object always has an id (Even though id is not part of the form fields)
-	 * @param petId
-	 * @return Pet
+	 * Called before each and every @RequestMapping annotated method to bind the form to
+	 * a new visit. The owner, the pet and its most recent visits are only loaded when the
+	 * form is rendered, booking the visit does not need them.
+	 * @return Visit
 	 */
 	@ModelAttribute("visit")
-	public Visit loadPetWithVisit(@PathVariable("ownerId") int ownerId, @PathVariable("petId") int petId,
-			Map<String, Object> model) {
-		Optional<Owner> optionalOwner = owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
-				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
-
-		Pet pet = owner.getPet(petId);
-		if (pet == null) {
-			throw new IllegalArgumentException(
-					"Pet with id " + petId + " not found for owner with id " + ownerId + ".");
-		}
-		model.put("pet", pet);
-		model.put("owner", owner);
-
-		Visit visit = new Visit();
-		pet.addVisit(visit);
-		return visit;
+	public Visit newVisit() {
+		return new Visit();
 	}
 
-	// Spring MVC calls method loadPetWithVisit(...) before initNewVisitForm is
-	// called
 	@GetMapping("/owners/{ownerId}/pets/{petId}/visits/new")
-	public String initNewVisitForm() {
-		return "pets/createOrUpdateVisitForm";
+	public String initNewVisitForm(@PathVariable("ownerId") int ownerId, @PathVariable("petId") int petId,
+			Map<String, Object> model) {
+		populateOwnerAndPet(ownerId, petId, model);
+		return VIEWS_VISIT_CREATE_FORM;
 	}
 
-	// Spring MVC calls method loadPetWithVisit(...) before processNewVisitForm is
-	// called
 	@PostMapping("/owners/{ownerId}/pets/{petId}/visits/new")
-	public String processNewVisitForm(@ModelAttribute Owner owner, @PathVariable int petId, @Valid Visit visit,
-			BindingResult result, RedirectAttributes redirectAttributes) {
+	public String processNewVisitForm(@PathVariable("ownerId") int ownerId, @PathVariable("petId") int petId,
+			@Valid Visit visit, BindingResult result, Map<String, Object> model,
+			RedirectAttributes redirectAttributes) {
 		if (result.hasErrors()) {
-			return "pets/createOrUpdateVisitForm";
+			populateOwnerAndPet(ownerId, petId, model);
+			return VIEWS_VISIT_CREATE_FORM;
 		}
 
-		owner.addVisit(petId, visit);
-		this.owners.save(owner);
+		this.visitBooker.book(ownerId, petId, visit);
 		redirectAttributes.addFlashAttribute("message", "Your visit has been booked");
 		return "redirect:/owners/{ownerId}";
 	}
 
+	private void populateOwnerAndPet(int ownerId, int petId, Map<String, Object> model) {
+		Owner owner = this.ownerLoader.getOwner(ownerId, FetchPlan.PETS);
+		Pet pet = owner.getPet(petId);
+		if (pet == null) {
+			throw new IllegalArgumentException(
+					"Pet with id " + petId + " not found for owner with id " + ownerId + ".");
+		}
+		model.put("pet", pet);
+		model.put("owner", owner);
+		model.put("previousVisits",
+				this.visits.findLatestByPetId(petId, Limit.of(VisitHistoryController.PAGE_SIZE)));
+	}
+
 }
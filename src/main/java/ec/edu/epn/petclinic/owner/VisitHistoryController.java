@@ -0,0 +1,66 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.time.LocalDate;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Serves the visit history of a pet as table rows inserted into the owner details page:
+ * a page of older visits when "load more" is clicked, or the visits made between two
+ * dates. The pet is checked to belong to the owner, but neither is loaded.
+ */
+@Controller
+class VisitHistoryController {
+
+	static final int PAGE_SIZE = 5;
+
+	private static final String VIEW_VISIT_ROWS = "owners/visitRows :: visitRows";
+
+	private final OwnerRepository owners;
+
+	private final VisitRepository visits;
+
+	VisitHistoryController(OwnerRepository owners, VisitRepository visits) {
+		this.owners = owners;
+		this.visits = visits;
+	}
+
+	@GetMapping(path = "/owners/{ownerId}/pets/{petId}/visits", params = { "!from", "!to" })
+	public String showVisitPage(@PathVariable("ownerId") int ownerId, @PathVariable("petId") int petId,
+			@RequestParam(defaultValue = "0") int page, Model model) {
+		checkPet(ownerId, petId);
+		Slice<Visit> visits = this.visits.findByPetId(petId, PageRequest.of(Math.max(page, 0), PAGE_SIZE));
+		model.addAttribute("ownerId", ownerId);
+		model.addAttribute("petId", petId);
+		model.addAttribute("visits", visits.getContent());
+		model.addAttribute("nextPage", visits.hasNext() ? visits.getNumber() + 1 : null);
+		return VIEW_VISIT_ROWS;
+	}
+
+	@GetMapping(path = "/owners/{ownerId}/pets/{petId}/visits", params = { "from", "to" })
+	public String showVisitsBetween(@PathVariable("ownerId") int ownerId, @PathVariable("petId") int petId,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to, Model model) {
+		checkPet(ownerId, petId);
+		model.addAttribute("ownerId", ownerId);
+		model.addAttribute("petId", petId);
+		model.addAttribute("visits", this.visits.findByPetIdAndDateBetween(petId, from, to));
+		model.addAttribute("nextPage", null);
+		return VIEW_VISIT_ROWS;
+	}
+
+	private void checkPet(int ownerId, int petId) {
+		if (!this.owners.existsPet(ownerId, petId)) {
+			throw new IllegalArgumentException(
+					"Pet with id " + petId + " not found for owner with id " + ownerId + ".");
+		}
+	}
+
+}
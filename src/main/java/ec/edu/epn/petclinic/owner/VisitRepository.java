@@ -0,0 +1,78 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Repository class for <code>Visit</code> domain objects, reading the visit history of a
+ * pet a page or a date range at a time rather than through {@link Pet#getVisits()}, which
+ * holds all of them. All queries are served by the <code>(pet_id, visit_date)</code>
+ * index of the <code>visits</code> table.
+ */
+public interface VisitRepository extends JpaRepository<Visit, Integer> {
+
+	/**
+	 * Retrieve a page of the {@link Visit}s of a {@link Pet}, the most recent first.
+	 * @param petId the id of the pet
+	 * @param pageable the page to retrieve
+	 * @return the page of visits
+	 */
+	@Query("SELECT visit FROM Visit visit WHERE visit.pet.id = :petId ORDER BY visit.date DESC, visit.id DESC")
+	Slice<Visit> findByPetId(@Param("petId") Integer petId, Pageable pageable);
+
+	/**
+	 * Retrieve the most recent {@link Visit}s of a {@link Pet}, the most recent first.
+	 * @param petId the id of the pet
+	 * @param limit the maximum number of visits to retrieve
+	 * @return the visits
+	 */
+	@Query("SELECT visit FROM Visit visit WHERE visit.pet.id = :petId ORDER BY visit.date DESC, visit.id DESC")
+	List<Visit> findLatestByPetId(@Param("petId") Integer petId, Limit limit);
+
+	/**
+	 * Retrieve the {@link Visit}s of a {@link Pet} made between two dates, both
+	 * inclusive, in the order they were made.
+	 * @param petId the id of the pet
+	 * @param from the first date
+	 * @param to the last date
+	 * @return the visits
+	 */
+	@Query("""
+			SELECT visit FROM Visit visit
+			WHERE visit.pet.id = :petId AND visit.date BETWEEN :from AND :to
+			ORDER BY visit.date, visit.id
+			""")
+	List<Visit> findByPetIdAndDateBetween(@Param("petId") Integer petId, @Param("from") LocalDate from,
+			@Param("to") LocalDate to);
+
+	/**
+	 * Retrieve, in a single query, the most recent {@link Visit}s of each {@link Pet} of
+	 * an {@link Owner}, ordered by pet and the most recent first. The visits of each pet
+	 * are numbered by a <code>row_number()</code> window, which reads each visit once
+	 * however long the history of the pet.
+	 * @param ownerId the id of the owner
+	 * @param perPet the maximum number of visits to retrieve for each pet
+	 * @return the visits along with the id of their pet
+	 */
+	@Query("""
+			SELECT new ec.edu.epn.petclinic.owner.PetVisit(latest.petId, visit)
+			FROM (
+				SELECT pet.id AS petId, visit.id AS visitId,
+					row_number() OVER (PARTITION BY pet.id ORDER BY visit.date DESC, visit.id DESC) AS position
+				FROM Owner owner JOIN owner.pets pet JOIN pet.visits visit
+				WHERE owner.id = :ownerId
+			) latest
+				JOIN Visit visit ON visit.id = latest.visitId
+			WHERE latest.position <= :perPet
+			ORDER BY latest.petId, latest.position
+			""")
+	List<PetVisit> findLatestByOwnerId(@Param("ownerId") Integer ownerId, @Param("perPet") long perPet);
+
+}
@@ -2,38 +2,78 @@
 
 package ec.edu.epn.petclinic.system;
 
-import org.springframework.boot.cache.autoconfigure.JCacheManagerCustomizer;
+import java.util.Collection;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.cache.autoconfigure.CacheManagerCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
 
-import javax.cache.configuration.MutableConfiguration;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 
 /**
- * Cache configuration intended for caches providing the JCache API. This configuration
- * creates the used cache for the application and enables statistics that become
- * accessible via JMX.
+ * Cache configuration for the Caffeine cache manager. Each cache listed in
+ * {@link CacheSpecProperties} is bounded by the total size of its entries, may expire
+ * them after a while, and may refresh them in the background through the
+ * {@link CacheReloader} registered for it. Statistics are recorded so that they are
+ * exposed through the actuator metrics.
+ * <p>
+ * Caches created on demand for other names use the <code>spring.cache.caffeine.spec</code>
+ * property.
  */
 @Configuration(proxyBeanMethods = false)
 @EnableCaching
+@EnableConfigurationProperties(CacheSpecProperties.class)
 class CacheConfiguration {
 
 	@Bean
-	public JCacheManagerCustomizer petclinicCacheConfigurationCustomizer() {
-		return cm -> cm.createCache("vets", cacheConfiguration());
+	public CacheManagerCustomizer<CaffeineCacheManager> petclinicCacheConfigurationCustomizer(
+			CacheSpecProperties properties, ObjectProvider<CacheReloader> reloaders) {
+		return cm -> properties.getSpecs()
+			.forEach((name, spec) -> cm.registerCustomCache(name, cache(name, spec, reloaders)));
+	}
+
+	private com.github.benmanes.caffeine.cache.Cache<Object, Object> cache(String name, CacheSpecProperties.Spec spec,
+			ObjectProvider<CacheReloader> reloaders) {
+		Caffeine<Object, Object> builder = Caffeine.newBuilder()
+			.maximumWeight(spec.getMaximumWeight())
+			.weigher(CacheConfiguration::weigh)
+			.recordStats();
+		if (spec.getExpireAfterWrite() != null) {
+			builder.expireAfterWrite(spec.getExpireAfterWrite());
+		}
+		if (spec.getRefreshAfterWrite() == null) {
+			return builder.build();
+		}
+		// reloaders depend on repositories, which are created after the cache manager
+		CacheLoader<Object, Object> loader = key -> reloader(name, reloaders).reload(key);
+		return builder.refreshAfterWrite(spec.getRefreshAfterWrite()).build(loader);
+	}
+
+	private static CacheReloader reloader(String name, ObjectProvider<CacheReloader> reloaders) {
+		return reloaders.stream()
+			.filter(reloader -> name.equals(reloader.getCacheName()))
+			.findFirst()
+			.orElseThrow(() -> new IllegalStateException("Cache '" + name + "' has a refresh period but no CacheReloader"));
 	}
 
 	/**
-	 * Create a simple configuration that enable statistics via the JCache programmatic
-	 * configuration API.
-	 * <p>
-	 * Within the configuration object that is provided by the JCache API standard, there
-	 * is only a very limited set of configuration options. The really relevant
-	 * configuration options (like the size limit) must be set via a configuration
-	 * mechanism that is provided by the selected JCache implementation.
+	 * Weigh cached collections and pages by their number of elements so that the
+	 * maximum weight bounds the number of entities held rather than the number of keys.
 	 */
-	private javax.cache.configuration.Configuration<Object, Object> cacheConfiguration() {
-		return new MutableConfiguration<>().setStatisticsEnabled(true);
+	private static int weigh(Object key, Object value) {
+		if (value instanceof Collection<?> collection) {
+			return Math.max(1, collection.size());
+		}
+		if (value instanceof Slice<?> slice) {
+			return Math.max(1, slice.getNumberOfElements());
+		}
+		return 1;
 	}
 
 }
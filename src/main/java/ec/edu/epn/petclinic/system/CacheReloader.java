@@ -0,0 +1,29 @@
+
+package ec.edu.epn.petclinic.system;
+
+/**
+ * Recomputes cache entries without going through the cached method. Caches configured
+ * with a refresh period (see {@link CacheSpecProperties}) use it to reload stale entries
+ * in the background while callers keep being served the previous value.
+ * <p>
+ * A reloader must not call a method cached in the cache it reloads.
+ * </p>
+ */
+public interface CacheReloader {
+
+	/**
+	 * Return the name of the cache this reloader recomputes entries for.
+	 * @return the cache name
+	 */
+	String getCacheName();
+
+	/**
+	 * Recompute the value cached under the given key.
+	 * @param key the cache key, as produced by the cache key generator
+	 * @return the fresh value, or {@literal null} if this reloader cannot recompute the
+	 * given key, in which case the entry is dropped and recomputed by its cached method on
+	 * the next call
+	 */
+	Object reload(Object key);
+
+}
@@ -0,0 +1,71 @@
+
+package ec.edu.epn.petclinic.system;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per cache bounds and expiration, bound from the <code>petclinic.cache.specs</code>
+ * properties, e.g. <code>petclinic.cache.specs[vets].maximum-weight=1000</code>.
+ */
+@ConfigurationProperties("petclinic.cache")
+public class CacheSpecProperties {
+
+	private final Map<String, Spec> specs = new LinkedHashMap<>();
+
+	public Map<String, Spec> getSpecs() {
+		return this.specs;
+	}
+
+	/**
+	 * Bounds and expiration of a single cache.
+	 */
+	public static class Spec {
+
+		/**
+		 * Maximum total weight of the entries, where a cached collection or page weighs
+		 * as many elements as it holds and any other value weighs one.
+		 */
+		private long maximumWeight = 1000;
+
+		/**
+		 * Time after which an entry is evicted once it has been written.
+		 */
+		private Duration expireAfterWrite;
+
+		/**
+		 * Time after which an entry is reloaded in the background on its next read.
+		 * Requires a {@link CacheReloader} for the cache.
+		 */
+		private Duration refreshAfterWrite;
+
+		public long getMaximumWeight() {
+			return this.maximumWeight;
+		}
+
+		public void setMaximumWeight(long maximumWeight) {
+			this.maximumWeight = maximumWeight;
+		}
+
+		public Duration getExpireAfterWrite() {
+			return this.expireAfterWrite;
+		}
+
+		public void setExpireAfterWrite(Duration expireAfterWrite) {
+			this.expireAfterWrite = expireAfterWrite;
+		}
+
+		public Duration getRefreshAfterWrite() {
+			return this.refreshAfterWrite;
+		}
+
+		public void setRefreshAfterWrite(Duration refreshAfterWrite) {
+			this.refreshAfterWrite = refreshAfterWrite;
+		}
+
+	}
+
+}
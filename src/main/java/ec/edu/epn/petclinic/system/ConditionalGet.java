@@ -0,0 +1,48 @@
+
+package ec.edu.epn.petclinic.system;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.CollectionUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+/**
+ * Conditional GET support for pages rendered from versioned data: a handler computes the
+ * version of the data it would render and lets the client reuse its copy of the page
+ * when it is unchanged, answering <code>304 Not Modified</code> without rendering.
+ * <p>
+ * The strong ETag of a page combines the version of its data with the locale it is
+ * rendered in and the start time of the application, so that pages are rendered again
+ * after switching languages or deploying new templates. Pages showing a flash message
+ * are never tagged, since the message must not be shown again from the client's cache.
+ * </p>
+ */
+public final class ConditionalGet {
+
+	private static final String INSTANCE = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+	private ConditionalGet() {
+	}
+
+	/**
+	 * Tag the response with an ETag for the given data version and check it against the
+	 * <code>If-None-Match</code> header of the request.
+	 * @param request the current request
+	 * @param version the version of the data rendered by the page
+	 * @return {@literal true} if the client's copy is up to date, in which case the
+	 * response is already a <code>304 Not Modified</code> and the handler must not render
+	 * anything
+	 */
+	public static boolean checkNotModified(ServletWebRequest request, String version) {
+		if (!CollectionUtils.isEmpty(RequestContextUtils.getInputFlashMap(request.getRequest()))) {
+			return false;
+		}
+		if (request.getResponse() != null) {
+			// let the client keep the page but revalidate it on every view
+			request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+		}
+		String locale = RequestContextUtils.getLocale(request.getRequest()).toLanguageTag();
+		return request.checkNotModified("\"" + version + "-" + locale + "-" + INSTANCE + "\"");
+	}
+
+}
@@ -0,0 +1,117 @@
+
+package ec.edu.epn.petclinic.system;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Set;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.dialect.AbstractProcessorDialect;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.engine.TemplateManager;
+import org.thymeleaf.engine.TemplateModel;
+import org.thymeleaf.inline.NoOpInliner;
+import org.thymeleaf.model.IModel;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.IProcessor;
+import org.thymeleaf.processor.element.AbstractAttributeModelProcessor;
+import org.thymeleaf.processor.element.IElementModelStructureHandler;
+import org.thymeleaf.standard.StandardDialect;
+import org.thymeleaf.standard.expression.StandardExpressions;
+import org.thymeleaf.templatemode.TemplateMode;
+
+/**
+ * Thymeleaf dialect caching the rendered HTML of template fragments that change rarely,
+ * such as the navigation bar or the vet list, in the <code>fragments</code> cache.
+ * <p>
+ * An element carrying a <code>pc:cache</code> attribute is rendered once per value of
+ * the attribute's expression and locale, then served from the cache: the expression
+ * must therefore include everything the element depends on, typically a data version,
+ * e.g. <code>pc:cache="|vets-${currentPage}-${@vetDataVersion.get()}|"</code>. Entries
+ * of older versions are never read again and are evicted as the cache fills up or
+ * expires. An expression evaluating to {@literal null} renders the element as usual.
+ * </p>
+ * <p>
+ * The cached HTML is written out as is, without being processed again.
+ * </p>
+ */
+@Component
+public class FragmentCacheDialect extends AbstractProcessorDialect {
+
+	static final String CACHE_NAME = "fragments";
+
+	static final String PREFIX = "pc";
+
+	private final CacheManager cacheManager;
+
+	FragmentCacheDialect(CacheManager cacheManager) {
+		// run before the standard dialect so that the whole element is cached
+		super("Fragment cache", PREFIX, StandardDialect.PROCESSOR_PRECEDENCE - 1);
+		this.cacheManager = cacheManager;
+	}
+
+	@Override
+	public Set<IProcessor> getProcessors(String dialectPrefix) {
+		return Set.of(new CacheProcessor(dialectPrefix));
+	}
+
+	private final class CacheProcessor extends AbstractAttributeModelProcessor {
+
+		private CacheProcessor(String dialectPrefix) {
+			super(TemplateMode.HTML, dialectPrefix, null, false, "cache", true, 0, true);
+		}
+
+		@Override
+		protected void doProcess(ITemplateContext context, IModel model, AttributeName attributeName,
+				String attributeValue, IElementModelStructureHandler structureHandler) {
+			Object key = StandardExpressions.getExpressionParser(context.getConfiguration())
+				.parseExpression(context, attributeValue)
+				.execute(context);
+			if (key == null) {
+				return;
+			}
+			Cache cache = FragmentCacheDialect.this.cacheManager.getCache(CACHE_NAME);
+			String cacheKey = context.getTemplateData().getTemplate() + "::" + key + "::"
+					+ context.getLocale().toLanguageTag();
+			// rendered outside of the cache's own loading, which nested cached elements
+			// would re-enter
+			String html = cache.get(cacheKey, String.class);
+			if (html == null) {
+				html = render(context, model, attributeName);
+				cache.put(cacheKey, html);
+			}
+			model.reset();
+			model.add(context.getModelFactory().createText(html));
+			structureHandler.setInliner(NoOpInliner.INSTANCE);
+		}
+
+		/**
+		 * Render the element in the current context, as it would have been without the
+		 * cache.
+		 */
+		private String render(ITemplateContext context, IModel model, AttributeName attributeName) {
+			IProcessableElementTag element = (IProcessableElementTag) model.get(0);
+			IModel uncached = model.cloneModel();
+			uncached.replace(0, context.getModelFactory().removeAttribute(element, attributeName));
+			StringWriter markup = new StringWriter();
+			StringWriter html = new StringWriter();
+			try {
+				uncached.write(markup);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			TemplateManager templateManager = context.getConfiguration().getTemplateManager();
+			TemplateModel parsed = templateManager.parseString(context.getTemplateData(), markup.toString(),
+					element.getLine(), element.getCol(), context.getTemplateMode(), false);
+			templateManager.process(parsed, context, html);
+			return html.toString();
+		}
+
+	}
+
+}
@@ -0,0 +1,59 @@
+
+package ec.edu.epn.petclinic.system;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Application metrics complementing the ones configured in
+ * <code>application.properties</code>: the repository method timers
+ * (<code>spring.data.repository.invocations</code>), the Hibernate statistics
+ * (<code>hibernate.*</code>) and the cache statistics (<code>cache.*</code>) are
+ * auto-configured, while the entities loaded and SQL statements issued per request are
+ * collected here through a Hibernate post-load listener and statement inspector, and a
+ * {@link RequestStatisticsInterceptor}.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(RequestStatisticsProperties.class)
+class MetricsConfiguration implements WebMvcConfigurer {
+
+	private final MeterRegistry registry;
+
+	private final RequestStatisticsProperties properties;
+
+	MetricsConfiguration(MeterRegistry registry, RequestStatisticsProperties properties,
+			EntityManagerFactory entityManagerFactory) {
+		this.registry = registry;
+		this.properties = properties;
+		entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+			.getEventListenerRegistry()
+			.appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> RequestStatistics.entityLoaded());
+	}
+
+	@Bean
+	static HibernatePropertiesCustomizer requestStatisticsStatementInspector() {
+		StatementInspector inspector = sql -> {
+			RequestStatistics.statementPrepared(sql);
+			return sql;
+		};
+		return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new RequestStatisticsInterceptor(this.registry, this.properties));
+	}
+
+}
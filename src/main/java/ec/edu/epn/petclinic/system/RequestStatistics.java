@@ -0,0 +1,87 @@
+
+package ec.edu.epn.petclinic.system;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Persistence activity of the request being handled by the current thread, collected
+ * between {@link #begin()} and {@link #end()} by {@link RequestStatisticsInterceptor}.
+ * <p>
+ * Work done on other threads, such as the reactive handlers of the JSON API running
+ * their repository calls on a separate scheduler, is not attributed to any request.
+ * </p>
+ */
+final class RequestStatistics {
+
+	private static final ThreadLocal<RequestStatistics> current = new ThreadLocal<>();
+
+	private int entitiesLoaded;
+
+	private int statements;
+
+	private final Map<String, Integer> executions = new HashMap<>();
+
+	private RequestStatistics() {
+	}
+
+	/**
+	 * Start collecting the activity of a request on the current thread.
+	 * @return the statistics of the request
+	 */
+	static RequestStatistics begin() {
+		RequestStatistics statistics = new RequestStatistics();
+		current.set(statistics);
+		return statistics;
+	}
+
+	/**
+	 * Stop collecting activity on the current thread.
+	 */
+	static void end() {
+		current.remove();
+	}
+
+	/**
+	 * Record that an entity was loaded, if a request is being handled by the current
+	 * thread.
+	 */
+	static void entityLoaded() {
+		RequestStatistics statistics = current.get();
+		if (statistics != null) {
+			statistics.entitiesLoaded++;
+		}
+	}
+
+	/**
+	 * Record that a SQL statement was prepared, if a request is being handled by the
+	 * current thread.
+	 * @param sql the SQL of the statement
+	 */
+	static void statementPrepared(String sql) {
+		RequestStatistics statistics = current.get();
+		if (statistics != null) {
+			statistics.statements++;
+			statistics.executions.merge(sql, 1, Integer::sum);
+		}
+	}
+
+	int getEntitiesLoaded() {
+		return this.entitiesLoaded;
+	}
+
+	int getStatements() {
+		return this.statements;
+	}
+
+	/**
+	 * Return the SQL statement prepared the most times, which points at an N+1 selects
+	 * problem when it was prepared once per row of a previous query.
+	 * @return the statement and how many times it was prepared, or {@literal null} if
+	 * no statement was prepared
+	 */
+	Map.Entry<String, Integer> getMostRepeatedStatement() {
+		return this.executions.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+	}
+
+}
@@ -0,0 +1,133 @@
+
+package ec.edu.epn.petclinic.system;
+
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Collects the {@link RequestStatistics} of each request, from the handler call to the
+ * end of view rendering, and records them in the
+ * <code>petclinic.request.entities.loaded</code> and
+ * <code>petclinic.request.statements</code> distribution summaries tagged with the
+ * request method, URI pattern and handler method.
+ * <p>
+ * Once the handler has returned, the number of SQL statements it issued is checked
+ * against the {@link RequestStatisticsProperties#getStatementBudget() budget}, and
+ * optionally reported in the <code>X-SQL-Statements</code> header of rendered pages. A
+ * statement prepared again and again during a request is logged as a likely N+1 selects
+ * problem.
+ * </p>
+ */
+class RequestStatisticsInterceptor implements AsyncHandlerInterceptor {
+
+	static final String ENTITIES_LOADED = "petclinic.request.entities.loaded";
+
+	static final String STATEMENTS = "petclinic.request.statements";
+
+	static final String STATEMENTS_HEADER = "X-SQL-Statements";
+
+	private static final String ATTRIBUTE = RequestStatistics.class.getName();
+
+	private static final Log logger = LogFactory.getLog(RequestStatisticsInterceptor.class);
+
+	private final MeterRegistry registry;
+
+	private final RequestStatisticsProperties properties;
+
+	RequestStatisticsInterceptor(MeterRegistry registry, RequestStatisticsProperties properties) {
+		this.registry = registry;
+		this.properties = properties;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		request.setAttribute(ATTRIBUTE, RequestStatistics.begin());
+		return true;
+	}
+
+	@Override
+	public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+			ModelAndView modelAndView) {
+		if (!(request.getAttribute(ATTRIBUTE) instanceof RequestStatistics statistics)) {
+			return;
+		}
+		int statements = statistics.getStatements();
+		if (this.properties.isHeader() && !response.isCommitted()) {
+			response.setIntHeader(STATEMENTS_HEADER, statements);
+		}
+		Integer budget = this.properties.getStatementBudget();
+		if (budget != null && statements > budget) {
+			String message = describe(request, handler) + " issued " + statements
+					+ " SQL statements, over the budget of " + budget;
+			if (this.properties.isFailOverBudget()) {
+				throw new IllegalStateException(message);
+			}
+			if (logger.isWarnEnabled()) {
+				logger.warn(message);
+			}
+		}
+	}
+
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+			Object handler) {
+		RequestStatistics.end();
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		RequestStatistics.end();
+		if (!(request.getAttribute(ATTRIBUTE) instanceof RequestStatistics statistics)) {
+			return;
+		}
+		Tags tags = Tags.of("method", request.getMethod(), "uri", uri(request), "handler", handler(handler));
+		DistributionSummary.builder(ENTITIES_LOADED)
+			.description("Entities loaded by Hibernate while handling a request")
+			.baseUnit("entities")
+			.tags(tags)
+			.register(this.registry)
+			.record(statistics.getEntitiesLoaded());
+		DistributionSummary.builder(STATEMENTS)
+			.description("SQL statements issued while handling a request")
+			.baseUnit("statements")
+			.tags(tags)
+			.register(this.registry)
+			.record(statistics.getStatements());
+		Map.Entry<String, Integer> repeated = statistics.getMostRepeatedStatement();
+		if (repeated != null && repeated.getValue() >= this.properties.getRepeatedStatementThreshold()
+				&& logger.isWarnEnabled()) {
+			logger.warn(describe(request, handler) + " prepared the same SQL statement " + repeated.getValue()
+					+ " times, likely N+1 selects: " + repeated.getKey());
+		}
+	}
+
+	private static String describe(HttpServletRequest request, Object handler) {
+		return request.getMethod() + " " + uri(request) + " (" + handler(handler) + ")";
+	}
+
+	private static String uri(HttpServletRequest request) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		return (pattern != null) ? pattern.toString() : "UNKNOWN";
+	}
+
+	private static String handler(Object handler) {
+		if (handler instanceof HandlerMethod method) {
+			return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+		}
+		return handler.getClass().getSimpleName();
+	}
+
+}
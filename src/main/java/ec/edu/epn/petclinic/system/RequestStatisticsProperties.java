@@ -0,0 +1,69 @@
+
+package ec.edu.epn.petclinic.system;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Reporting and limits of the SQL statements issued per request, bound from the
+ * <code>petclinic.request-statistics</code> properties, see
+ * {@link RequestStatisticsInterceptor}.
+ */
+@ConfigurationProperties("petclinic.request-statistics")
+public class RequestStatisticsProperties {
+
+	/**
+	 * Whether to report the number of SQL statements issued by the handler of each
+	 * rendered page in the <code>X-SQL-Statements</code> response header.
+	 */
+	private boolean header;
+
+	/**
+	 * Maximum number of SQL statements a handler may issue before a warning is logged.
+	 */
+	private Integer statementBudget;
+
+	/**
+	 * Whether to fail requests going over the statement budget instead of only logging a
+	 * warning, typically in tests.
+	 */
+	private boolean failOverBudget;
+
+	/**
+	 * Number of times the same statement may be prepared during a request before it is
+	 * logged as a likely N+1 selects problem.
+	 */
+	private int repeatedStatementThreshold = 5;
+
+	public boolean isHeader() {
+		return this.header;
+	}
+
+	public void setHeader(boolean header) {
+		this.header = header;
+	}
+
+	public Integer getStatementBudget() {
+		return this.statementBudget;
+	}
+
+	public void setStatementBudget(Integer statementBudget) {
+		this.statementBudget = statementBudget;
+	}
+
+	public boolean isFailOverBudget() {
+		return this.failOverBudget;
+	}
+
+	public void setFailOverBudget(boolean failOverBudget) {
+		this.failOverBudget = failOverBudget;
+	}
+
+	public int getRepeatedStatementThreshold() {
+		return this.repeatedStatementThreshold;
+	}
+
+	public void setRepeatedStatementThreshold(int repeatedStatementThreshold) {
+		this.repeatedStatementThreshold = repeatedStatementThreshold;
+	}
+
+}
@@ -0,0 +1,109 @@
+
+package ec.edu.epn.petclinic.system;
+
+import java.time.Duration;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Reports virtual threads pinned to their carrier thread while running the application,
+ * typically by blocking on JDBC inside a <code>synchronized</code> block of a driver or
+ * pool. Only active when virtual threads are enabled
+ * (<code>spring.threads.virtual.enabled=true</code>, see the
+ * <code>virtual-threads</code> profile).
+ * <p>
+ * Pinning is observed through the JFR <code>jdk.VirtualThreadPinned</code> event, raised
+ * when a pinned virtual thread blocks for longer than
+ * <code>petclinic.virtual-threads.pinning-threshold</code>. Each occurrence is logged with
+ * the application frame that led to it, usually a repository call, and recorded in the
+ * <code>petclinic.virtualthreads.pinned</code> timer tagged with that frame.
+ * </p>
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+	static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+	static final String TIMER_NAME = "petclinic.virtualthreads.pinned";
+
+	private static final String APPLICATION_PACKAGE = "ec.edu.epn.petclinic.";
+
+	private static final Log logger = LogFactory.getLog(VirtualThreadPinningMonitor.class);
+
+	private final MeterRegistry registry;
+
+	private final Duration threshold;
+
+	private RecordingStream recording;
+
+	VirtualThreadPinningMonitor(MeterRegistry registry,
+			@Value("${petclinic.virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+		this.registry = registry;
+		this.threshold = threshold;
+	}
+
+	@Override
+	public synchronized void start() {
+		RecordingStream recording = new RecordingStream();
+		recording.enable(PINNED_EVENT).withThreshold(this.threshold).withStackTrace();
+		recording.onEvent(PINNED_EVENT, this::pinned);
+		recording.startAsync();
+		this.recording = recording;
+	}
+
+	@Override
+	public synchronized void stop() {
+		if (this.recording != null) {
+			this.recording.close();
+			this.recording = null;
+		}
+	}
+
+	@Override
+	public synchronized boolean isRunning() {
+		return this.recording != null;
+	}
+
+	void pinned(RecordedEvent event) {
+		String caller = caller(event.getStackTrace());
+		Timer.builder(TIMER_NAME)
+			.description("Time virtual threads blocked while pinned to their carrier thread")
+			.tag("caller", caller)
+			.register(this.registry)
+			.record(event.getDuration());
+		if (logger.isWarnEnabled()) {
+			logger.warn("Virtual thread pinned for " + event.getDuration().toMillis() + " ms, called from " + caller
+					+ System.lineSeparator() + event.getStackTrace());
+		}
+	}
+
+	/**
+	 * Return the innermost application frame of the given stack trace, which tells which
+	 * repository call or controller pinned the thread.
+	 */
+	private static String caller(RecordedStackTrace stackTrace) {
+		if (stackTrace != null) {
+			for (RecordedFrame frame : stackTrace.getFrames()) {
+				if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+					return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+				}
+			}
+		}
+		return "unknown";
+	}
+
+}
@@ -4,6 +4,7 @@ package ec.edu.epn.petclinic.vet;
 import ec.edu.epn.petclinic.model.NamedEntity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
 
 /**
@@ -11,6 +12,7 @@ import jakarta.persistence.Table;
  *
  */
 @Entity
+@EntityListeners(VetCacheEvictionListener.class)
 @Table(name = "specialties")
 public class Specialty extends NamedEntity {
 
@@ -5,12 +5,14 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+
+import org.hibernate.annotations.BatchSize;
 
 import ec.edu.epn.petclinic.model.NamedEntity;
 import ec.edu.epn.petclinic.model.Person;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
@@ -22,14 +24,24 @@ import jakarta.xml.bind.annotation.XmlElement;
  * Simple JavaBean domain object representing a veterinarian.
  */
 @Entity
+@EntityListeners(VetCacheEvictionListener.class)
 @Table(name = "vets")
 public class Vet extends Person {
 
+	// loaded for a whole page, or list, of vets at once rather than one vet at a time
 	@ManyToMany(fetch = FetchType.EAGER)
+	@BatchSize(size = 50)
 	@JoinTable(name = "vet_specialties", joinColumns = @JoinColumn(name = "vet_id"),
 			inverseJoinColumns = @JoinColumn(name = "specialty_id"))
 	private Set<Specialty> specialties;
 
+	/**
+	 * Sorted, unmodifiable view of the specialties, built on first use and dropped by
+	 * {@link #addSpecialty(Specialty)}. Vets are shared through the <code>vets</code>
+	 * caches, hence the volatile.
+	 */
+	private transient volatile List<Specialty> sortedSpecialties;
+
 	protected Set<Specialty> getSpecialtiesInternal() {
 		if (this.specialties == null) {
 			this.specialties = new HashSet<>();
@@ -39,9 +51,14 @@ public class Vet extends Person {
 
 	@XmlElement
 	public List<Specialty> getSpecialties() {
-		return getSpecialtiesInternal().stream()
-			.sorted(Comparator.comparing(NamedEntity::getName))
-			.collect(Collectors.toList());
+		List<Specialty> sorted = this.sortedSpecialties;
+		if (sorted == null) {
+			sorted = getSpecialtiesInternal().stream()
+				.sorted(Comparator.comparing(NamedEntity::getName))
+				.toList();
+			this.sortedSpecialties = sorted;
+		}
+		return sorted;
 	}
 
 	public int getNrOfSpecialties() {
@@ -50,6 +67,7 @@ public class Vet extends Person {
 
 	public void addSpecialty(Specialty specialty) {
 		getSpecialtiesInternal().add(specialty);
+		this.sortedSpecialties = null;
 	}
 
 }
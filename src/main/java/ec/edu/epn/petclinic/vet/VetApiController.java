@@ -0,0 +1,39 @@
+
+package ec.edu.epn.petclinic.vet;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Read-only JSON API over the vets for non-browser clients. The (cached) vet list is read
+ * on the bounded elastic scheduler so that no servlet thread waits on the database, and
+ * emitted as the client consumes it.
+ */
+@RestController
+class VetApiController {
+
+	private final VetRepository vets;
+
+	VetApiController(VetRepository vets) {
+		this.vets = vets;
+	}
+
+	@GetMapping(value = "/api/vets", produces = MediaType.APPLICATION_JSON_VALUE)
+	public Flux<Vet> findVets() {
+		return vets();
+	}
+
+	@GetMapping(value = "/api/vets", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public Flux<Vet> streamVets() {
+		return vets();
+	}
+
+	private Flux<Vet> vets() {
+		return Flux.defer(() -> Flux.fromIterable(this.vets.findAll())).subscribeOn(Schedulers.boundedElastic());
+	}
+
+}
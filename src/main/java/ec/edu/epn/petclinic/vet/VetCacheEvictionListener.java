@@ -0,0 +1,74 @@
+
+package ec.edu.epn.petclinic.vet;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener clearing the <code>vets</code> and <code>vetPages</code> caches and
+ * then incrementing the {@link VetDataVersion} whenever a {@link Vet} or a
+ * {@link Specialty} is inserted, updated or deleted. When a transaction is active the
+ * caches are cleared once it commits, so that a concurrent read cannot cache the data
+ * being replaced again before the change is visible.
+ * <p>
+ * Hibernate creates this listener through the Spring bean container. Changing only the
+ * specialties of a vet does not update the vet itself and is handed to this listener by
+ * {@link VetSpecialtiesEvictionListener} instead.
+ * </p>
+ */
+class VetCacheEvictionListener {
+
+	static final String[] CACHE_NAMES = { "vets", "vetPages" };
+
+	private final ObjectProvider<CacheManager> cacheManager;
+
+	private final ObjectProvider<VetDataVersion> version;
+
+	VetCacheEvictionListener(ObjectProvider<CacheManager> cacheManager, ObjectProvider<VetDataVersion> version) {
+		this.cacheManager = cacheManager;
+		this.version = version;
+	}
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	void onChange(Object entity) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					changed();
+				}
+			});
+		}
+		else {
+			changed();
+		}
+	}
+
+	private void changed() {
+		clear();
+		this.version.ifAvailable(VetDataVersion::increment);
+	}
+
+	private void clear() {
+		CacheManager cacheManager = this.cacheManager.getIfAvailable();
+		if (cacheManager == null) {
+			return;
+		}
+		for (String name : CACHE_NAMES) {
+			Cache cache = cacheManager.getCache(name);
+			if (cache != null) {
+				cache.clear();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,31 @@
+
+package ec.edu.epn.petclinic.vet;
+
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+
+import ec.edu.epn.petclinic.system.CacheReloader;
+
+/**
+ * Reloads the full list of vets cached by {@link VetRepository#findAll()}.
+ */
+@Component
+class VetCacheReloader implements CacheReloader {
+
+	private final VetRepository vets;
+
+	VetCacheReloader(VetRepository vets) {
+		this.vets = vets;
+	}
+
+	@Override
+	public String getCacheName() {
+		return "vets";
+	}
+
+	@Override
+	public Object reload(Object key) {
+		return SimpleKey.EMPTY.equals(key) ? this.vets.findAllByOrderById() : null;
+	}
+
+}
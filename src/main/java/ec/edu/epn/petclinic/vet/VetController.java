@@ -1,16 +1,21 @@
 
 package ec.edu.epn.petclinic.vet;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import ec.edu.epn.petclinic.system.ConditionalGet;
+import jakarta.servlet.http.HttpServletResponse;
 
 
 @Controller
@@ -18,17 +23,31 @@ class VetController {
 
 	private final VetRepository vetRepository;
 
-	public VetController(VetRepository vetRepository) {
+	private final VetDirectoryWriter vetDirectoryWriter;
+
+	private final VetDataVersion vetDataVersion;
+
+	public VetController(VetRepository vetRepository, VetDirectoryWriter vetDirectoryWriter,
+			VetDataVersion vetDataVersion) {
 		this.vetRepository = vetRepository;
+		this.vetDirectoryWriter = vetDirectoryWriter;
+		this.vetDataVersion = vetDataVersion;
 	}
 
 	@GetMapping("/vets.html")
-	public String showVetList(@RequestParam(defaultValue = "1") int page, Model model) {
+	public String showVetList(@RequestParam(defaultValue = "1") int page, Model model, ServletWebRequest request) {
+		// read before the vets so that a change made while they load is only reflected
+		// in a later version, under which the cached vet list fragment is rendered again
+		long version = this.vetDataVersion.get();
+		if (notModified(request, version, "html")) {
+			return null;
+		}
 		// Here we are returning an object of type 'Vets' rather than a collection of Vet
 		// objects so it is simpler for Object-Xml mapping
 		Vets vets = new Vets();
 		Page<Vet> paginated = findPaginated(page);
 		vets.getVetList().addAll(paginated.toList());
+		model.addAttribute("vetsVersion", version);
 		return addPaginationModel(page, paginated, model);
 	}
 
@@ -47,13 +66,33 @@ class VetController {
 		return vetRepository.findAll(pageable);
 	}
 
-	@GetMapping({ "/vets" })
-	public @ResponseBody Vets showResourcesVetList() {
-		// Here we are returning an object of type 'Vets' rather than a collection of Vet
-		// objects so it is simpler for JSon/Object mapping
-		Vets vets = new Vets();
-		vets.getVetList().addAll(this.vetRepository.findAll());
-		return vets;
+	@GetMapping(value = "/vets", produces = MediaType.APPLICATION_JSON_VALUE)
+	public void showResourcesVetList(HttpServletResponse response, ServletWebRequest request) throws IOException {
+		if (notModified(request, this.vetDataVersion.get(), "json")) {
+			return;
+		}
+		// The vets are written as the same document as a serialized 'Vets' object, but
+		// streamed from the database rather than collected first
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		this.vetDirectoryWriter.writeJson(response.getOutputStream());
+	}
+
+	@GetMapping(value = "/vets", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public void showResourcesVetStream(HttpServletResponse response, ServletWebRequest request) throws IOException {
+		if (notModified(request, this.vetDataVersion.get(), "ndjson")) {
+			return;
+		}
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		this.vetDirectoryWriter.writeNdjson(response.getOutputStream());
+	}
+
+	/**
+	 * Answer <code>304 Not Modified</code> to clients already holding the given
+	 * representation of the vets as of the given {@link VetDataVersion}, without reading
+	 * them.
+	 */
+	private boolean notModified(ServletWebRequest request, long version, String representation) {
+		return ConditionalGet.checkNotModified(request, "vets." + version + "." + representation);
 	}
 
 }
@@ -0,0 +1,40 @@
+
+package ec.edu.epn.petclinic.vet;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Version of the vets and their specialties, incremented by
+ * {@link VetCacheEvictionListener} whenever one of them changes, once the
+ * <code>vets</code> and <code>vetPages</code> caches have been cleared. Anything derived
+ * from the vets, such as the ETags of the vet pages, is current as long as the version
+ * it was derived from is.
+ * <p>
+ * The version is held in memory and starts over when the application restarts, which
+ * is why the ETags derived from it also carry the start time of the application. It only
+ * sees the changes made through this instance of the application: vets changed by
+ * another instance sharing the database, or directly in the database, go unnoticed until
+ * the application restarts. The vet pages are therefore only validated by version when a
+ * single instance writes to the database.
+ * </p>
+ */
+@Component
+public class VetDataVersion {
+
+	private final AtomicLong version = new AtomicLong();
+
+	/**
+	 * Return the current version of the vets.
+	 * @return the number of changes to vets and specialties since the application started
+	 */
+	public long get() {
+		return this.version.get();
+	}
+
+	void increment() {
+		this.version.incrementAndGet();
+	}
+
+}
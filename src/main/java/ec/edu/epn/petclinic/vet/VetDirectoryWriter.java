@@ -0,0 +1,87 @@
+
+package ec.edu.epn.petclinic.vet;
+
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+/**
+ * Writes the whole vet directory as JSON while reading it from the database, so that
+ * serving it does not hold every vet in memory at once. Vets are read through
+ * {@link VetRepository#streamAllByOrderById()} and detached from the persistence context
+ * once written.
+ */
+@Component
+class VetDirectoryWriter {
+
+	private static final int FLUSH_INTERVAL = 100;
+
+	private final VetRepository vets;
+
+	private final EntityManager entityManager;
+
+	private final ObjectWriter writer;
+
+	VetDirectoryWriter(VetRepository vets, EntityManager entityManager, ObjectMapper mapper) {
+		this.vets = vets;
+		this.entityManager = entityManager;
+		// closing a generator flushes it without closing the stream it writes to
+		this.writer = mapper.writer().withRootValueSeparator("\n").without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+	}
+
+	/**
+	 * Write the vets as a JSON object holding them in its <code>vetList</code> array, the
+	 * same document as a serialized {@link Vets}.
+	 * @param out the stream to write to, left open
+	 */
+	@Transactional(readOnly = true)
+	public void writeJson(OutputStream out) {
+		try (Stream<Vet> vets = this.vets.streamAllByOrderById();
+				JsonGenerator generator = this.writer.createGenerator(out)) {
+			generator.writeStartObject();
+			generator.writeName("vetList");
+			generator.writeStartArray();
+			write(vets, generator);
+			generator.writeEndArray();
+			generator.writeEndObject();
+		}
+	}
+
+	/**
+	 * Write the vets as newline delimited JSON, one vet per line.
+	 * @param out the stream to write to, left open
+	 */
+	@Transactional(readOnly = true)
+	public void writeNdjson(OutputStream out) {
+		try (Stream<Vet> vets = this.vets.streamAllByOrderById();
+				JsonGenerator generator = this.writer.createGenerator(out)) {
+			// the root value separator goes between the vets, end the last one as well
+			if (write(vets, generator) > 0) {
+				generator.writeRaw('\n');
+			}
+		}
+	}
+
+	private int write(Stream<Vet> vets, JsonGenerator generator) {
+		int written = 0;
+		for (Iterator<Vet> it = vets.iterator(); it.hasNext();) {
+			Vet vet = it.next();
+			generator.writePOJO(vet);
+			this.entityManager.detach(vet);
+			if (++written % FLUSH_INTERVAL == 0) {
+				generator.flush();
+			}
+		}
+		return written;
+	}
+
+}
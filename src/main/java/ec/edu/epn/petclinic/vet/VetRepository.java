@@ -5,16 +5,31 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository class for <code>Vet</code> domain objects All method names are compliant
  * with Spring Data naming conventions so this interface can easily be extended for Spring
  * Data. See:
  * https://docs.spring.io/spring-data/jpa/docs/current/reference/html/#repositories.query-methods.query-creation
+ * <p>
+ * The full list of vets is cached in the <code>vets</code> cache and the pages of vets in
+ * the <code>vetPages</code> cache, keyed by page number, page size and sort. Both are
+ * cleared by {@link VetCacheEvictionListener} whenever a vet or a specialty changes.
+ * Pages are also keyed by the {@link VetDataVersion} read before they are loaded, so that
+ * a page loaded before a change but cached after the caches were cleared is never read.
+ * </p>
  */
 public interface VetRepository extends Repository<Vet, Integer> {
 
@@ -33,7 +48,27 @@ public interface VetRepository extends Repository<Vet, Integer> {
 	 * @throws DataAccessException
 	 */
 	@Transactional(readOnly = true)
-	@Cacheable("vets")
+	@Cacheable(cacheNames = "vetPages",
+			key = "{#pageable.pageNumber, #pageable.pageSize, #pageable.sort, @vetDataVersion.get()}",
+			condition = "#pageable.paged")
 	Page<Vet> findAll(Pageable pageable) throws DataAccessException;
 
+	/**
+	 * Retrieve all <code>Vet</code>s from the data store ordered by id, bypassing the
+	 * cache. Used to refresh the cached list of vets.
+	 * @return a <code>List</code> of <code>Vet</code>s
+	 */
+	@Transactional(readOnly = true)
+	List<Vet> findAllByOrderById() throws DataAccessException;
+
+	/**
+	 * Stream all <code>Vet</code>s with their specialties from the data store ordered by
+	 * id, reading them from the database as the stream is consumed. Must be called within
+	 * a transaction, and the stream closed once consumed.
+	 * @return a <code>Stream</code> of <code>Vet</code>s
+	 */
+	@Query("SELECT vet FROM Vet vet LEFT JOIN FETCH vet.specialties ORDER BY vet.id")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+	Stream<Vet> streamAllByOrderById() throws DataAccessException;
+
 }
@@ -0,0 +1,43 @@
+
+package ec.edu.epn.petclinic.vet;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Hibernate collection event listener handing the changes made to the specialties of a
+ * {@link Vet} to a {@link VetCacheEvictionListener}. Adding or removing specialties only
+ * writes to the <code>vet_specialties</code> join table, which updates neither the vet
+ * nor the specialties and so does not reach the entity listeners.
+ */
+@Component
+class VetSpecialtiesEvictionListener {
+
+	private final VetCacheEvictionListener evictionListener;
+
+	VetSpecialtiesEvictionListener(EntityManagerFactory entityManagerFactory,
+			ObjectProvider<CacheManager> cacheManager, ObjectProvider<VetDataVersion> version) {
+		this.evictionListener = new VetCacheEvictionListener(cacheManager, version);
+		var listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getEventListenerRegistry();
+		listeners.appendListeners(EventType.POST_COLLECTION_RECREATE,
+				(PostCollectionRecreateEventListener) this::onChange);
+		listeners.appendListeners(EventType.POST_COLLECTION_UPDATE, (PostCollectionUpdateEventListener) this::onChange);
+		listeners.appendListeners(EventType.POST_COLLECTION_REMOVE, (PostCollectionRemoveEventListener) this::onChange);
+	}
+
+	private void onChange(AbstractCollectionEvent event) {
+		if (event.getAffectedOwnerOrNull() instanceof Vet vet) {
+			this.evictionListener.onChange(vet);
+		}
+	}
+
+}
@@ -32,8 +32,31 @@ CREATE TABLE IF NOT EXISTS owners (
   address VARCHAR(255),
   city VARCHAR(80),
   telephone VARCHAR(20),
-  INDEX(last_name)
+  -- lower-cased last_name, kept up to date by the Owner entity, for case-insensitive
+  -- prefix searches served by the index whatever the collation of the database
+  normalized_last_name VARCHAR(30),
+  -- incremented by Hibernate on every update, see OwnerRepository.findVersionById
+  version INT NOT NULL DEFAULT 0,
+  INDEX(normalized_last_name, id)
 ) engine=InnoDB;
+-- MySQL has no ADD COLUMN IF NOT EXISTS: add the columns to an existing table only when
+-- they are missing, and fill in the normalized last names of the owners saved before
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE()
+    AND table_name = 'owners' AND column_name = 'normalized_last_name') = 0,
+  'ALTER TABLE owners ADD COLUMN normalized_last_name VARCHAR(30), ADD INDEX (normalized_last_name, id)',
+  'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+UPDATE owners SET normalized_last_name = LOWER(last_name)
+  WHERE normalized_last_name IS NULL AND last_name IS NOT NULL;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE()
+    AND table_name = 'owners' AND column_name = 'version') = 0,
+  'ALTER TABLE owners ADD COLUMN version INT NOT NULL DEFAULT 0',
+  'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
 
 CREATE TABLE IF NOT EXISTS pets (
   id INT(4) UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
@@ -41,15 +64,78 @@ CREATE TABLE IF NOT EXISTS pets (
   birth_date DATE,
   type_id INT(4) UNSIGNED NOT NULL,
   owner_id INT(4) UNSIGNED,
+  -- incremented by Hibernate on every update, see OwnerRepository.findVersionById
+  version INT NOT NULL DEFAULT 0,
   INDEX(name),
   FOREIGN KEY (owner_id) REFERENCES owners(id),
   FOREIGN KEY (type_id) REFERENCES types(id)
 ) engine=InnoDB;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE()
+    AND table_name = 'pets' AND column_name = 'version') = 0,
+  'ALTER TABLE pets ADD COLUMN version INT NOT NULL DEFAULT 0',
+  'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
 
 CREATE TABLE IF NOT EXISTS visits (
   id INT(4) UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
   pet_id INT(4) UNSIGNED,
   visit_date DATE,
   description VARCHAR(255),
+  INDEX(pet_id, visit_date),
   FOREIGN KEY (pet_id) REFERENCES pets(id)
 ) engine=InnoDB;
+-- tables created before the index was declared get it added, found by its columns since
+-- MySQL names an index after its first column, a name the foreign key index may hold
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics s1
+    JOIN information_schema.statistics s2 ON s2.table_schema = s1.table_schema
+      AND s2.table_name = s1.table_name AND s2.index_name = s1.index_name
+    WHERE s1.table_schema = DATABASE() AND s1.table_name = 'visits'
+      AND s1.column_name = 'pet_id' AND s1.seq_in_index = 1
+      AND s2.column_name = 'visit_date' AND s2.seq_in_index = 2) = 0,
+  'ALTER TABLE visits ADD INDEX visits_pet_id_visit_date (pet_id, visit_date)',
+  'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+-- MySQL has no sequences: Hibernate emulates them with one single-row table each, from
+-- which ids are assigned so that inserts can be batched. Its pooled optimizer hands out
+-- the 50 ids up to each value, so a table is seeded with the largest id in use plus 50,
+-- and at least 100 to start past the sample data inserted afterwards
+CREATE TABLE IF NOT EXISTS vets_seq (
+  next_val BIGINT
+) engine=InnoDB;
+INSERT INTO vets_seq SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM vets) + 50, 100) FROM DUAL
+  WHERE NOT EXISTS (SELECT * FROM vets_seq);
+
+CREATE TABLE IF NOT EXISTS specialties_seq (
+  next_val BIGINT
+) engine=InnoDB;
+INSERT INTO specialties_seq SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM specialties) + 50, 100) FROM DUAL
+  WHERE NOT EXISTS (SELECT * FROM specialties_seq);
+
+CREATE TABLE IF NOT EXISTS types_seq (
+  next_val BIGINT
+) engine=InnoDB;
+INSERT INTO types_seq SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM types) + 50, 100) FROM DUAL
+  WHERE NOT EXISTS (SELECT * FROM types_seq);
+
+CREATE TABLE IF NOT EXISTS owners_seq (
+  next_val BIGINT
+) engine=InnoDB;
+INSERT INTO owners_seq SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM owners) + 50, 100) FROM DUAL
+  WHERE NOT EXISTS (SELECT * FROM owners_seq);
+
+CREATE TABLE IF NOT EXISTS pets_seq (
+  next_val BIGINT
+) engine=InnoDB;
+INSERT INTO pets_seq SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM pets) + 50, 100) FROM DUAL
+  WHERE NOT EXISTS (SELECT * FROM pets_seq);
+
+CREATE TABLE IF NOT EXISTS visits_seq (
+  next_val BIGINT
+) engine=InnoDB;
+INSERT INTO visits_seq SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM visits) + 50, 100) FROM DUAL
+  WHERE NOT EXISTS (SELECT * FROM visits_seq);
@@ -22,16 +22,16 @@ INSERT INTO types (name) SELECT 'snake' WHERE NOT EXISTS (SELECT * FROM types WH
 INSERT INTO types (name) SELECT 'bird' WHERE NOT EXISTS (SELECT * FROM types WHERE name='bird');
 INSERT INTO types (name) SELECT 'hamster' WHERE NOT EXISTS (SELECT * FROM types WHERE name='hamster');
 
-INSERT INTO owners (first_name, last_name, address, city, telephone) SELECT 'George', 'Franklin', '110 W. Liberty St.', 'Madison', '6085551023' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=1);
-INSERT INTO owners (first_name, last_name, address, city, telephone) SELECT 'Betty', 'Davis', '638 Cardinal Ave.', 'Sun Prairie', '6085551749' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=2);
-INSERT INTO owners (first_name, last_name, address, city, telephone) SELECT 'Eduardo', 'Rodriquez', '2693 Commerce St.', 'McFarland', '6085558763' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=3);
-INSERT INTO owners (first_name, last_name, address, city, telephone) SELECT 'Harold', 'Davis', '563 Friendly St.', 'Windsor', '6085553198' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=4);
-INSERT INTO owners (first_name, last_name, address, city, telephone) SELECT 'Peter', 'McTavish', '2387 S. Fair Way', 'Madison', '6085552765' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=5);
-INSERT INTO owners (first_name, last_name, address, city, telephone) SELECT 'Jean', 'Coleman', '105 N. Lake St.', 'Monona', '6085552654' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=6);
-INSERT INTO owners (first_name, last_name, address, city, telephone) SELECT 'Jeff', 'Black', '1450 Oak Blvd.', 'Monona', '6085555387' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=7);
-INSERT INTO owners (first_name, last_name, address, city, telephone) SELECT 'Maria', 'Escobito', '345 Maple St.', 'Madison', '6085557683' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=8);
-INSERT INTO owners (first_name, last_name, address, city, telephone) SELECT 'David', 'Schroeder', '2749 Blackhawk Trail', 'Madison', '6085559435' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=9);
-INSERT INTO owners (first_name, last_name, address, city, telephone) SELECT 'Carlos', 'Estaban', '2335 Independence La.', 'Waunakee', '6085555487' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=10);
+INSERT INTO owners (first_name, last_name, address, city, telephone, normalized_last_name) SELECT 'George', 'Franklin', '110 W. Liberty St.', 'Madison', '6085551023', 'franklin' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=1);
+INSERT INTO owners (first_name, last_name, address, city, telephone, normalized_last_name) SELECT 'Betty', 'Davis', '638 Cardinal Ave.', 'Sun Prairie', '6085551749', 'davis' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=2);
+INSERT INTO owners (first_name, last_name, address, city, telephone, normalized_last_name) SELECT 'Eduardo', 'Rodriquez', '2693 Commerce St.', 'McFarland', '6085558763', 'rodriquez' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=3);
+INSERT INTO owners (first_name, last_name, address, city, telephone, normalized_last_name) SELECT 'Harold', 'Davis', '563 Friendly St.', 'Windsor', '6085553198', 'davis' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=4);
+INSERT INTO owners (first_name, last_name, address, city, telephone, normalized_last_name) SELECT 'Peter', 'McTavish', '2387 S. Fair Way', 'Madison', '6085552765', 'mctavish' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=5);
+INSERT INTO owners (first_name, last_name, address, city, telephone, normalized_last_name) SELECT 'Jean', 'Coleman', '105 N. Lake St.', 'Monona', '6085552654', 'coleman' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=6);
+INSERT INTO owners (first_name, last_name, address, city, telephone, normalized_last_name) SELECT 'Jeff', 'Black', '1450 Oak Blvd.', 'Monona', '6085555387', 'black' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=7);
+INSERT INTO owners (first_name, last_name, address, city, telephone, normalized_last_name) SELECT 'Maria', 'Escobito', '345 Maple St.', 'Madison', '6085557683', 'escobito' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=8);
+INSERT INTO owners (first_name, last_name, address, city, telephone, normalized_last_name) SELECT 'David', 'Schroeder', '2749 Blackhawk Trail', 'Madison', '6085559435', 'schroeder' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=9);
+INSERT INTO owners (first_name, last_name, address, city, telephone, normalized_last_name) SELECT 'Carlos', 'Estaban', '2335 Independence La.', 'Waunakee', '6085555487', 'estaban' WHERE NOT EXISTS (SELECT * FROM owners WHERE id=10);
 
 INSERT INTO pets (name, birth_date, type_id, owner_id) SELECT 'Leo', '2000-09-07', 1, 1 WHERE NOT EXISTS (SELECT * FROM pets WHERE id=1);
 INSERT INTO pets (name, birth_date, type_id, owner_id) SELECT 'Basil', '2002-08-06', 6, 2 WHERE NOT EXISTS (SELECT * FROM pets WHERE id=2);
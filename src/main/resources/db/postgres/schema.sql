@@ -29,17 +29,31 @@ CREATE TABLE IF NOT EXISTS owners (
   last_name  TEXT,
   address    TEXT,
   city       TEXT,
-  telephone  TEXT
+  telephone  TEXT,
+  -- lower-cased last_name, kept up to date by the Owner entity, for case-insensitive
+  -- prefix searches: with the "C" collation the index serves LIKE 'prefix%' as well as
+  -- the ordering by name
+  normalized_last_name TEXT COLLATE "C",
+  -- incremented by Hibernate on every update, see OwnerRepository.findVersionById
+  version    INT NOT NULL DEFAULT 0
 );
-CREATE INDEX ON owners (last_name);
+-- added to, and filled in, an existing table created before the columns existed
+ALTER TABLE owners ADD COLUMN IF NOT EXISTS normalized_last_name TEXT COLLATE "C";
+ALTER TABLE owners ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 0;
+UPDATE owners SET normalized_last_name = lower(last_name)
+  WHERE normalized_last_name IS NULL AND last_name IS NOT NULL;
+CREATE INDEX IF NOT EXISTS owners_normalized_last_name_id_idx ON owners (normalized_last_name, id);
 
 CREATE TABLE IF NOT EXISTS pets (
   id         INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   name       TEXT,
   birth_date DATE,
   type_id    INT NOT NULL REFERENCES types (id),
-  owner_id   INT REFERENCES owners (id)
+  owner_id   INT REFERENCES owners (id),
+  -- incremented by Hibernate on every update, see OwnerRepository.findVersionById
+  version    INT NOT NULL DEFAULT 0
 );
+ALTER TABLE pets ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 0;
 CREATE INDEX ON pets (name);
 CREATE INDEX ON pets (owner_id);
 
@@ -49,4 +63,29 @@ CREATE TABLE IF NOT EXISTS visits (
   visit_date  DATE,
   description TEXT
 );
-CREATE INDEX ON visits (pet_id);
+-- named as PostgreSQL named the unnamed index created by earlier versions of this script,
+-- so that it is created only once
+CREATE INDEX IF NOT EXISTS visits_pet_id_visit_date_idx ON visits (pet_id, visit_date);
+
+-- ids are assigned by Hibernate from these sequences so that inserts can be batched.
+-- Its pooled optimizer hands out the 50 ids up to each value, so a sequence that was
+-- never used starts from the largest id in use plus 50, and at least 100 to start past
+-- the sample data inserted afterwards
+CREATE SEQUENCE IF NOT EXISTS vets_seq START WITH 100 INCREMENT BY 50;
+SELECT setval('vets_seq', GREATEST((SELECT COALESCE(max(id), 0) FROM vets) + 50, 100), false)
+  FROM vets_seq WHERE NOT is_called;
+CREATE SEQUENCE IF NOT EXISTS specialties_seq START WITH 100 INCREMENT BY 50;
+SELECT setval('specialties_seq', GREATEST((SELECT COALESCE(max(id), 0) FROM specialties) + 50, 100), false)
+  FROM specialties_seq WHERE NOT is_called;
+CREATE SEQUENCE IF NOT EXISTS types_seq START WITH 100 INCREMENT BY 50;
+SELECT setval('types_seq', GREATEST((SELECT COALESCE(max(id), 0) FROM types) + 50, 100), false)
+  FROM types_seq WHERE NOT is_called;
+CREATE SEQUENCE IF NOT EXISTS owners_seq START WITH 100 INCREMENT BY 50;
+SELECT setval('owners_seq', GREATEST((SELECT COALESCE(max(id), 0) FROM owners) + 50, 100), false)
+  FROM owners_seq WHERE NOT is_called;
+CREATE SEQUENCE IF NOT EXISTS pets_seq START WITH 100 INCREMENT BY 50;
+SELECT setval('pets_seq', GREATEST((SELECT COALESCE(max(id), 0) FROM pets) + 50, 100), false)
+  FROM pets_seq WHERE NOT is_called;
+CREATE SEQUENCE IF NOT EXISTS visits_seq START WITH 100 INCREMENT BY 50;
+SELECT setval('visits_seq', GREATEST((SELECT COALESCE(max(id), 0) FROM visits) + 50, 100), false)
+  FROM visits_seq WHERE NOT is_called;
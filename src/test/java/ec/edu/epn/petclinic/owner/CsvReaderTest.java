@@ -0,0 +1,54 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CsvReader Tests")
+class CsvReaderTest {
+
+	@Test
+	@DisplayName("readRecord - Should read plain and quoted fields")
+	void readRecord_shouldReadPlainAndQuotedFields() throws IOException {
+		// Arrange
+		CsvReader csv = new CsvReader(new StringReader("a,\"b,c\",\"say \"\"hi\"\"\"\r\n,\"multi\nline\"\n"));
+
+		// Act & Assert
+		assertEquals(List.of("a", "b,c", "say \"hi\""), csv.readRecord());
+		assertEquals(1, csv.getRecordLine());
+		assertEquals(List.of("", "multi\nline"), csv.readRecord());
+		assertEquals(2, csv.getRecordLine());
+		assertNull(csv.readRecord());
+	}
+
+	@Test
+	@DisplayName("readRecord - Should count lines spanned by quoted fields")
+	void readRecord_shouldCountLinesSpannedByQuotedFields() throws IOException {
+		// Arrange
+		CsvReader csv = new CsvReader(new StringReader("\"one\ntwo\"\nlast"));
+
+		// Act
+		csv.readRecord();
+		List<String> last = csv.readRecord();
+
+		// Assert
+		assertEquals(List.of("last"), last);
+		assertEquals(3, csv.getRecordLine());
+	}
+
+	@Test
+	@DisplayName("readRecord - Should reject an unterminated quoted field")
+	void readRecord_shouldRejectUnterminatedQuote() {
+		// Arrange
+		CsvReader csv = new CsvReader(new StringReader("a,\"b\n"));
+
+		// Act & Assert
+		assertThrows(CsvReader.FormatException.class, csv::readRecord);
+	}
+
+}
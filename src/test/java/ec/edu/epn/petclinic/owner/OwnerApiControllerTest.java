@@ -0,0 +1,142 @@
+package ec.edu.epn.petclinic.owner;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs without a surrounding transaction since the repository calls are made on another
+ * thread than the test.
+ */
+@SpringBootTest
+@DisplayName("OwnerApiController Integration Tests")
+class OwnerApiControllerTest {
+
+	@Autowired
+	private WebApplicationContext webApplicationContext;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+	}
+
+	@Test
+	@DisplayName("GET /api/owners - Should list owners ordered by last name as JSON")
+	void testFindOwners() throws Exception {
+		// Act
+		MvcResult result = mockMvc.perform(get("/api/owners").accept("application/json"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+
+		// Assert
+		mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(10)))
+			.andExpect(jsonPath("$[0].lastName").value("Black"))
+			.andExpect(jsonPath("$[1].lastName").value("Coleman"))
+			.andExpect(jsonPath("$[1].pets").value("Max, Samantha"));
+	}
+
+	@Test
+	@DisplayName("GET /api/owners - Should filter by last name and honor the limit")
+	void testFindOwnersWithLastNameAndLimit() throws Exception {
+		// Act
+		MvcResult result = mockMvc.perform(get("/api/owners").param("lastName", "Davis").param("limit", "1"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+
+		// Assert
+		mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(1)))
+			.andExpect(jsonPath("$[0].lastName").value("Davis"));
+	}
+
+	@Test
+	@DisplayName("GET /api/owners - Should stream one owner per line as NDJSON")
+	void testFindOwnersAsNdjson() throws Exception {
+		// Act
+		MvcResult result = mockMvc.perform(get("/api/owners").accept("application/x-ndjson"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		result.getAsyncResult();
+
+		// Assert
+		String[] lines = result.getResponse().getContentAsString().split("\\n");
+		assertEquals(10, lines.length);
+		assertTrue(lines[0].contains("\"lastName\":\"Black\""));
+	}
+
+	@Test
+	@DisplayName("GET /api/owners - Should reject a limit out of range")
+	void testFindOwnersWithInvalidLimit() throws Exception {
+		mockMvc.perform(get("/api/owners").param("limit", "0")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@DisplayName("GET /api/owners/search - Should return the owners matching a full-text query")
+	void testSearchOwners() throws Exception {
+		// Act
+		MvcResult result = mockMvc.perform(get("/api/owners/search").param("q", "colemn"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+
+		// Assert
+		mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(1)))
+			.andExpect(jsonPath("$[0].lastName").value("Coleman"))
+			.andExpect(jsonPath("$[0].pets").value("Max, Samantha"));
+	}
+
+	@Test
+	@DisplayName("GET /api/owners/search - Should reject a limit out of range")
+	void testSearchOwnersWithInvalidLimit() throws Exception {
+		mockMvc.perform(get("/api/owners/search").param("q", "davis").param("limit", "101"))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@DisplayName("GET /api/owners/{id} - Should return the owner with pets and visits")
+	void testShowOwner() throws Exception {
+		// Act
+		MvcResult result = mockMvc.perform(get("/api/owners/{ownerId}", 6))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+
+		// Assert
+		mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.lastName").value("Coleman"))
+			.andExpect(jsonPath("$.pets", hasSize(2)))
+			.andExpect(jsonPath("$.pets[0].type.name").value("cat"))
+			.andExpect(jsonPath("$.pets[0].visits", hasSize(2)));
+	}
+
+	@Test
+	@DisplayName("GET /api/owners/{id} - Should return 404 for an unknown owner")
+	void testShowUnknownOwner() throws Exception {
+		// Act
+		MvcResult result = mockMvc.perform(get("/api/owners/{ownerId}", 9999))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+
+		// Assert
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isNotFound());
+	}
+
+}
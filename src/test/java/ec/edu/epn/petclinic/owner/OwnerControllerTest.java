@@ -10,13 +10,23 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
+
+import java.time.LocalDate;
+
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 
-@SpringBootTest
+/**
+ * Fails any request issuing more than five SQL statements, to catch N+1 selects. Each
+ * request starts from an empty persistence context, as it would outside of the test
+ * transaction, so that none of its reads is served by the entities of the test.
+ */
+@SpringBootTest(properties = { "petclinic.request-statistics.statement-budget=5",
+		"petclinic.request-statistics.fail-over-budget=true", "petclinic.request-statistics.header=true" })
 @Transactional
 @DisplayName("OwnerController Integration Tests")
 class OwnerControllerTest {
@@ -26,8 +36,14 @@ class OwnerControllerTest {
 
 	private MockMvc mockMvc;
 
+	@Autowired
+	private EntityManager entityManager;
+
 	@Autowired
 	private OwnerRepository ownerRepository;
+
+	@Autowired
+	private PetTypeRepository petTypeRepository;
 	
 	private Owner testOwner;
 
@@ -35,7 +51,13 @@ class OwnerControllerTest {
 
 	@BeforeEach
 	void setUp() {
-		this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+		this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+			.defaultRequest(get("/").with(request -> {
+				entityManager.flush();
+				entityManager.clear();
+				return request;
+			}))
+			.build();
 		
 		ownerRepository.deleteAll();
 		
@@ -54,6 +76,8 @@ class OwnerControllerTest {
 		testOwner2.setCity("New York");
 		testOwner2.setTelephone("9876543210");
 		testOwner2 = ownerRepository.save(testOwner2);
+		// keep the statements of this setup out of the statement budget of the first request
+		ownerRepository.flush();
 	}
 
 	@Test
@@ -177,6 +201,33 @@ class OwnerControllerTest {
 			.andExpect(view().name("owners/ownersList"));
 	}
 
+	@Test
+	@DisplayName("GET /owners - Should list owner summaries with aggregated pet names")
+	void testProcessFindFormListsOwnerSummaries() throws Exception {
+		// Arrange
+		PetType type = petTypeRepository.findAll().get(0);
+		for (String name : new String[] { "Rex", "Bella" }) {
+			Pet pet = new Pet();
+			pet.setName(name);
+			pet.setBirthDate(LocalDate.of(2020, 1, 1));
+			pet.setType(type);
+			testOwner.addPet(pet);
+		}
+		ownerRepository.save(testOwner);
+
+		// Act
+		var result = mockMvc.perform(get("/owners").param("lastName", "Doe"));
+
+		// Assert
+		result.andExpect(status().isOk())
+			.andExpect(model().attribute("listOwners", hasSize(2)))
+			.andExpect(model().attribute("listOwners",
+					hasItem(allOf(hasProperty("firstName", is("John")), hasProperty("pets", is("Bella, Rex"))))))
+			.andExpect(model().attribute("listOwners",
+					hasItem(allOf(hasProperty("firstName", is("Jane")), hasProperty("pets", is(""))))))
+			.andExpect(view().name("owners/ownersList"));
+	}
+
 	@Test
 	@DisplayName("GET /owners - Should return all owners when no lastName provided")
 	void testProcessFindFormWithEmptyLastName() throws Exception {
@@ -316,6 +367,56 @@ class OwnerControllerTest {
 			.andExpect(view().name("owners/ownerDetails"));
 	}
 
+	@Test
+	@DisplayName("GET /owners/{ownerId} - Should load pets and visits without one query per pet")
+	void testShowOwnerWithPetsAndVisits() throws Exception {
+		// Arrange
+		PetType type = petTypeRepository.findAll().get(0);
+		for (int i = 0; i < 3; i++) {
+			Pet pet = new Pet();
+			pet.setName("Pet " + i);
+			pet.setBirthDate(LocalDate.of(2020, 1, 1));
+			pet.setType(type);
+			Visit visit = new Visit();
+			visit.setDescription("checkup");
+			pet.addVisit(visit);
+			testOwner.addPet(pet);
+		}
+		ownerRepository.saveAndFlush(testOwner);
+
+		// Act
+		var result = mockMvc.perform(get("/owners/{ownerId}", testOwner.getId()));
+
+		// Assert
+		// the version of the page, the owner with its pets, then the recent visits of all
+		// its pets
+		result.andExpect(status().isOk())
+			.andExpect(model().attribute("owner", hasProperty("pets", hasSize(3))))
+			.andExpect(header().string("X-SQL-Statements", "3"));
+	}
+
+	@Test
+	@DisplayName("GET /owners/{ownerId} - Should answer 304 Not Modified until the owner changes")
+	void testShowOwnerNotModified() throws Exception {
+		// Arrange
+		String etag = mockMvc.perform(get("/owners/{ownerId}", testOwner.getId()))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getHeader("ETag");
+
+		// Act & Assert
+		mockMvc.perform(get("/owners/{ownerId}", testOwner.getId()).header("If-None-Match", etag))
+			.andExpect(status().isNotModified())
+			.andExpect(header().string("X-SQL-Statements", "1"));
+
+		testOwner.setCity("Shelbyville");
+		ownerRepository.saveAndFlush(testOwner);
+		mockMvc.perform(get("/owners/{ownerId}", testOwner.getId()).header("If-None-Match", etag))
+			.andExpect(status().isOk())
+			.andExpect(header().string("ETag", not(etag)));
+	}
+
 	@Test
 	@DisplayName("ModelAttribute - Should create new owner when ownerId is null")
 	void testFindOwnerWithNullId() throws Exception {
@@ -459,4 +560,84 @@ class OwnerControllerTest {
 			.andExpect(model().attributeExists("listOwners"))
 			.andExpect(view().name("owners/ownersList"));
 	}
+
+	@Test
+	@DisplayName("GET /owners - Should page through owners with a keyset cursor")
+	void testProcessFindFormWithKeysetCursor() throws Exception {
+		// Arrange
+		for (int i = 0; i < 6; i++) {
+			Owner owner = new Owner();
+			owner.setFirstName("Owner" + i);
+			owner.setLastName("Smith");
+			owner.setAddress("Address " + i);
+			owner.setCity("City");
+			owner.setTelephone("123456789" + i);
+			ownerRepository.save(owner);
+		}
+
+		// Act
+		var firstPage = mockMvc.perform(get("/owners").param("lastName", "Smith").param("cursor", ""))
+			.andExpect(status().isOk())
+			.andExpect(model().attribute("listOwners", hasSize(5)))
+			.andExpect(model().attribute("totalItems", 6L))
+			.andExpect(model().attributeExists("nextCursor"))
+			.andExpect(view().name("owners/ownersList"))
+			.andReturn();
+		String nextCursor = (String) firstPage.getModelAndView().getModel().get("nextCursor");
+		var secondPage = mockMvc
+			.perform(get("/owners").param("lastName", "Smith").param("cursor", nextCursor).param("count", "false"));
+
+		// Assert
+		secondPage.andExpect(status().isOk())
+			.andExpect(model().attribute("listOwners", hasSize(1)))
+			.andExpect(model().attribute("listOwners", contains(hasProperty("firstName", is("Owner5")))))
+			.andExpect(model().attributeDoesNotExist("nextCursor", "totalItems"))
+			.andExpect(view().name("owners/ownersList"));
+	}
+
+	@Test
+	@DisplayName("GET /owners - Should reject a malformed keyset cursor")
+	void testProcessFindFormWithMalformedCursor() throws Exception {
+		// Arrange
+		String cursor = "not-a-cursor";
+
+		// Act
+		var result = mockMvc.perform(get("/owners").param("lastName", "Doe").param("cursor", cursor));
+
+		// Assert
+		result.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@DisplayName("GET /owners - Should skip the total count when count=false")
+	void testProcessFindFormWithoutCount() throws Exception {
+		// Arrange
+		// Ya existen dos dueños con apellido "Doe" creados en setUp
+
+		// Act
+		var result = mockMvc.perform(get("/owners").param("lastName", "Doe").param("count", "false"));
+
+		// Assert
+		result.andExpect(status().isOk())
+			.andExpect(model().attribute("listOwners", hasSize(2)))
+			.andExpect(model().attribute("hasNext", false))
+			.andExpect(model().attributeDoesNotExist("totalPages", "totalItems"))
+			.andExpect(view().name("owners/ownersList"));
+	}
+
+	@Test
+	@DisplayName("GET /owners - Should redirect when the keyset search finds one owner")
+	void testProcessFindFormWithKeysetSingleResult() throws Exception {
+		// Arrange
+		Integer ownerId = testOwner.getId();
+		testOwner.setLastName("Unique");
+		ownerRepository.save(testOwner);
+
+		// Act
+		var result = mockMvc.perform(get("/owners").param("lastName", "Unique").param("cursor", ""));
+
+		// Assert
+		result.andExpect(status().is3xxRedirection()).andExpect(redirectedUrl("/owners/" + ownerId));
+	}
+
 }
@@ -0,0 +1,67 @@
+package ec.edu.epn.petclinic.owner;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs without a surrounding transaction, so that every request reads the owner from
+ * the database as it does in the application, and counts the statements it issues.
+ */
+@SpringBootTest(properties = "petclinic.request-statistics.header=true")
+@DisplayName("OwnerDetailsController Integration Tests")
+class OwnerDetailsControllerTest {
+
+	private static final int GEORGE_FRANKLIN_ID = 1;
+
+	@Autowired
+	private WebApplicationContext webApplicationContext;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+	}
+
+	@Test
+	@DisplayName("GET /owners/{ownerId} - Should render the owner page in three statements")
+	void testShowOwnerStatements() throws Exception {
+		// Act
+		var result = mockMvc.perform(get("/owners/{ownerId}", GEORGE_FRANKLIN_ID));
+
+		// Assert
+		// the version of the page, the owner with its pets, then the recent visits of all
+		// its pets
+		result.andExpect(status().isOk())
+			.andExpect(model().attribute("owner", hasProperty("lastName", is("Franklin"))))
+			.andExpect(header().string("X-SQL-Statements", "3"));
+	}
+
+	@Test
+	@DisplayName("GET /owners/{ownerId} - Should answer 304 Not Modified in a single statement")
+	void testShowOwnerNotModifiedStatements() throws Exception {
+		// Arrange
+		String etag = mockMvc.perform(get("/owners/{ownerId}", GEORGE_FRANKLIN_ID))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getHeader("ETag");
+
+		// Act
+		var result = mockMvc.perform(get("/owners/{ownerId}", GEORGE_FRANKLIN_ID).header("If-None-Match", etag));
+
+		// Assert
+		result.andExpect(status().isNotModified()).andExpect(header().string("X-SQL-Statements", "1"));
+	}
+
+}
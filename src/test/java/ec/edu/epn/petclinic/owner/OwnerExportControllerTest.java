@@ -0,0 +1,116 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@DisplayName("OwnerExportController Integration Tests")
+class OwnerExportControllerTest {
+
+	@Autowired
+	private WebApplicationContext webApplicationContext;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Autowired
+	private OwnerExportWriter exportWriter;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+	}
+
+	@Test
+	@DisplayName("GET /owners/export - Should export one CSV line per visit")
+	void testExportCsv() throws Exception {
+		// Act
+		String csv = mockMvc.perform(get("/owners/export").accept("text/csv"))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith("text/csv"))
+			.andExpect(header().string("Content-Disposition", containsString("owners.csv")))
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+
+		// Assert
+		List<String> lines = Arrays.asList(csv.split("\r\n"));
+		assertEquals(OwnerExportWriter.CSV_HEADER, lines.get(0));
+		assertTrue(lines.contains("1,George,Franklin,110 W. Liberty St.,Madison,6085551023,1,Leo,2010-09-07,cat,,,"));
+		assertEquals(2, lines.stream().filter(line -> line.startsWith("6,Jean,Coleman,") && line.contains(",Samantha,")).count());
+		assertTrue(lines.contains("6,Jean,Coleman,105 N. Lake St.,Monona,6085552654,8,Max,2012-09-04,cat,3,2013-01-03,neutered"));
+	}
+
+	@Test
+	@DisplayName("GET /owners/export - Should export one owner per line as NDJSON")
+	void testExportNdjson() throws Exception {
+		// Act
+		String ndjson = mockMvc.perform(get("/owners/export").accept("application/x-ndjson"))
+			.andExpect(status().isOk())
+			.andExpect(content().contentType("application/x-ndjson"))
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+
+		// Assert
+		String[] lines = ndjson.split("\n");
+		JsonNode first = mapper.readTree(lines[0]);
+		assertEquals("Franklin", first.get("lastName").asString());
+		assertEquals("Leo", first.get("pets").get(0).get("name").asString());
+		assertEquals(0, first.get("pets").get(0).get("visits").size());
+		JsonNode coleman = Arrays.stream(lines)
+			.map(mapper::readTree)
+			.filter(owner -> owner.get("lastName").asString().equals("Coleman"))
+			.findFirst()
+			.orElseThrow();
+		assertEquals(2, coleman.get("pets").size());
+		JsonNode samantha = coleman.get("pets").get(0);
+		assertEquals("Samantha", samantha.get("name").asString());
+		assertEquals("cat", samantha.get("type").get("name").asString());
+		assertEquals(2, samantha.get("visits").size());
+		assertEquals("2013-01-01", samantha.get("visits").get(0).get("date").asString());
+		assertEquals("spayed", samantha.get("visits").get(1).get("description").asString());
+	}
+
+	@Test
+	@DisplayName("Should leave the stream open after writing the export")
+	void testExportLeavesStreamOpen() {
+		// Arrange
+		boolean[] closed = new boolean[1];
+		ByteArrayOutputStream out = new ByteArrayOutputStream() {
+			@Override
+			public void close() {
+				closed[0] = true;
+			}
+		};
+
+		// Act
+		exportWriter.writeCsv(out);
+		exportWriter.writeNdjson(out);
+
+		// Assert
+		assertFalse(closed[0]);
+		assertTrue(out.toString().contains("\"lastName\":\"Franklin\""));
+	}
+
+}
@@ -0,0 +1,182 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Each chunk transaction joins the test transaction, so imported owners are rolled back
+ * after each test.
+ */
+@SpringBootTest
+@Transactional
+@DisplayName("OwnerImporter Integration Tests")
+class OwnerImporterTest {
+
+	private static final String HEADER = "firstName,lastName,address,city,telephone,petName,petBirthDate,petType\n";
+
+	@Autowired
+	private OwnerImporter importer;
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	private WebApplicationContext webApplicationContext;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+	}
+
+	@Test
+	@DisplayName("importOwners - Should group consecutive rows of an owner and save its pets")
+	void importOwners_shouldGroupPetsOfAnOwner() throws IOException {
+		// Arrange
+		String csv = HEADER + "Ada,Importer,1 Main St.,Quito,0991234567,Rex,2020-01-01,dog\n"
+				+ "Ada,Importer,1 Main St.,Quito,0991234567,Tom,2021-02-03,cat\n"
+				+ "\n"
+				+ "Alan,Importer,2 Main St.,Quito,0997654321,,,\n";
+
+		// Act
+		OwnerImportReport report = importer.importOwners(new StringReader(csv));
+
+		// Assert
+		assertEquals(2, report.getOwnersImported());
+		assertEquals(2, report.getPetsImported());
+		assertEquals(0, report.getRowsRejected());
+		List<OwnerSummary> imported = owners.findSummariesByLastNameStartingWith("Importer", Limit.of(10));
+		assertEquals(2, imported.size());
+		Owner ada = owners.findWithPetsById(imported.get(0).getId()).orElseThrow();
+		assertEquals("cat", ada.getPet("Tom").getType().getName());
+	}
+
+	@Test
+	@DisplayName("importOwners - Should report invalid rows with their line and keep the valid ones")
+	void importOwners_shouldReportInvalidRows() throws IOException {
+		// Arrange
+		String csv = HEADER + "Ada,Importer,1 Main St.,Quito,123,,,\n"
+				+ "Alan,Importer,2 Main St.,Quito,0997654321,Rex,2020-01-01,dragon\n"
+				+ "Alan,Importer,2 Main St.,Quito,0997654321,Tom,not a date,cat\n"
+				+ "Alan,Importer,2 Main St.,Quito,0997654321,Kit,2020-01-01,cat\n"
+				+ "Alan,Importer,2 Main St.,Quito,0997654321,Kit,2020-01-01,cat\n";
+
+		// Act
+		OwnerImportReport report = importer.importOwners(new StringReader(csv));
+
+		// Assert
+		assertEquals(1, report.getOwnersImported());
+		assertEquals(1, report.getPetsImported());
+		assertEquals(4, report.getRowsRejected());
+		List<OwnerImportReport.RowError> errors = report.getErrors();
+		assertEquals(2, errors.get(0).line());
+		assertTrue(errors.get(0).message().startsWith("telephone: "));
+		assertEquals(3, errors.get(1).line());
+		assertEquals("petType: unknown pet type dragon", errors.get(1).message());
+		assertEquals(4, errors.get(2).line());
+		assertEquals("petBirthDate: invalid date", errors.get(2).message());
+		assertEquals(6, errors.get(3).line());
+		assertEquals("petName: is already in use", errors.get(3).message());
+	}
+
+	@Test
+	@DisplayName("importOwners - Should save owners in several chunks")
+	void importOwners_shouldSaveSeveralChunks() throws IOException {
+		// Arrange
+		StringBuilder csv = new StringBuilder(HEADER);
+		int count = OwnerImporter.CHUNK_SIZE + 10;
+		for (int i = 0; i < count; i++) {
+			csv.append("Owner").append(i).append(",Importer,1 Main St.,Quito,0991234567,Pet,2020-01-01,dog\n");
+		}
+
+		// Act
+		OwnerImportReport report = importer.importOwners(new StringReader(csv.toString()));
+
+		// Assert
+		assertEquals(count, report.getOwnersImported());
+		assertEquals(count, report.getPetsImported());
+		assertEquals(count, owners.countByLastNameStartingWith("Importer"));
+	}
+
+	@Test
+	@DisplayName("importOwners - Should stop at invalid CSV and report the lines committed before it")
+	void importOwners_shouldStopAtInvalidCsv() throws IOException {
+		// Arrange
+		StringBuilder csv = new StringBuilder(HEADER);
+		for (int i = 0; i < OwnerImporter.CHUNK_SIZE + 10; i++) {
+			csv.append("Owner").append(i).append(",Importer,1 Main St.,Quito,0991234567,,,\n");
+		}
+		csv.append("Ada,Importer,\"1 Main St.,Quito,0991234567,,,\n");
+
+		// Act
+		OwnerImportReport report = importer.importOwners(new StringReader(csv.toString()));
+
+		// Assert
+		assertEquals(OwnerImporter.CHUNK_SIZE, report.getOwnersImported());
+		assertEquals(OwnerImporter.CHUNK_SIZE + 1, report.getCommittedThroughLine());
+		assertEquals("Unterminated quoted field starting on line " + (OwnerImporter.CHUNK_SIZE + 12),
+				report.getFailure());
+		assertEquals(OwnerImporter.CHUNK_SIZE, owners.countByLastNameStartingWith("Importer"));
+	}
+
+	@Test
+	@DisplayName("POST /owners/import - Should return the import report as JSON")
+	void testImportOwners() throws Exception {
+		// Arrange
+		String csv = HEADER + "Ada,Importer,1 Main St.,Quito,0991234567,Rex,2020-01-01,dog\n"
+				+ ",Importer,2 Main St.,Quito,0997654321,,,\n";
+
+		// Act & Assert
+		mockMvc.perform(post("/owners/import").contentType("text/csv").content(csv))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.ownersImported").value(1))
+			.andExpect(jsonPath("$.petsImported").value(1))
+			.andExpect(jsonPath("$.rowsRejected").value(1))
+			.andExpect(jsonPath("$.errors[0].line").value(3))
+			.andExpect(jsonPath("$.errors[0].message", startsWith("firstName: ")))
+			.andExpect(jsonPath("$.committedThroughLine").value(3))
+			.andExpect(jsonPath("$.failure").doesNotExist());
+	}
+
+	@Test
+	@DisplayName("POST /owners/import - Should reject invalid CSV with the report of the rows committed")
+	void testImportOwnersWithInvalidCsv() throws Exception {
+		// Arrange
+		String csv = HEADER + "Ada,Importer,1 Main St.,Quito,0991234567,Rex,2020-01-01,dog\n"
+				+ "Alan,Importer,\"2 Main St.,Quito,0997654321,,,\n";
+
+		// Act & Assert
+		mockMvc.perform(post("/owners/import").contentType("text/csv").content(csv))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.ownersImported").value(0))
+			.andExpect(jsonPath("$.committedThroughLine").value(0))
+			.andExpect(jsonPath("$.failure").value("Unterminated quoted field starting on line 3"));
+	}
+
+	@Test
+	@DisplayName("POST /owners/import - Should reject a header missing owner columns")
+	void testImportOwnersWithMissingColumns() throws Exception {
+		// Act & Assert
+		mockMvc.perform(post("/owners/import").contentType("text/csv").content("firstName,lastName\nAda,Importer\n"))
+			.andExpect(status().isBadRequest());
+	}
+
+}
@@ -0,0 +1,66 @@
+package ec.edu.epn.petclinic.owner;
+
+import org.junit.jupiter.api.Test;
+
+import ec.edu.epn.petclinic.owner.OwnerLoader.FetchPlan;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OwnerLoaderTest {
+
+    @Test
+    void getOwner_shouldLoadOwnerOnce_whenRequestedTwiceWithSamePlan() {
+        OwnerRepository repo = mock(OwnerRepository.class);
+        Owner owner = new Owner();
+        when(repo.findWithPetsById(1)).thenReturn(Optional.of(owner));
+
+        OwnerLoader loader = new OwnerLoader(repo);
+
+        assertSame(owner, loader.getOwner(1, FetchPlan.PETS));
+        assertSame(owner, loader.getOwner(1, FetchPlan.PETS));
+        verify(repo, times(1)).findWithPetsById(1);
+    }
+
+    @Test
+    void getOwner_shouldReuseOwner_whenLoadedWithRicherPlan() {
+        OwnerRepository repo = mock(OwnerRepository.class);
+        Owner owner = new Owner();
+        when(repo.findWithPetsAndVisitsById(1)).thenReturn(Optional.of(owner));
+
+        OwnerLoader loader = new OwnerLoader(repo);
+        loader.getOwner(1, FetchPlan.PETS_AND_VISITS);
+
+        assertSame(owner, loader.getOwner(1, FetchPlan.OWNER));
+        verify(repo, never()).findById(1);
+    }
+
+    @Test
+    void getOwner_shouldReload_whenRicherPlanRequested() {
+        OwnerRepository repo = mock(OwnerRepository.class);
+        Owner owner = new Owner();
+        Owner ownerWithPets = new Owner();
+        when(repo.findById(1)).thenReturn(Optional.of(owner));
+        when(repo.findWithPetsById(1)).thenReturn(Optional.of(ownerWithPets));
+
+        OwnerLoader loader = new OwnerLoader(repo);
+        loader.getOwner(1, FetchPlan.OWNER);
+
+        assertSame(ownerWithPets, loader.getOwner(1, FetchPlan.PETS));
+        assertSame(ownerWithPets, loader.getOwner(1, FetchPlan.OWNER));
+    }
+
+    @Test
+    void getOwner_shouldThrowIllegalArgumentException_whenOwnerDoesNotExist() {
+        OwnerRepository repo = mock(OwnerRepository.class);
+        when(repo.findById(99)).thenReturn(Optional.empty());
+
+        OwnerLoader loader = new OwnerLoader(repo);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> loader.getOwner(99, FetchPlan.OWNER));
+        assertTrue(ex.getMessage().contains("Owner not found with id: 99"));
+    }
+}
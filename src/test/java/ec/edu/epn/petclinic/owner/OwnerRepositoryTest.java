@@ -0,0 +1,147 @@
+package ec.edu.epn.petclinic.owner;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without a surrounding transaction so that the returned owners are detached, as
+ * they are in the controllers, and only what the fetch plan loaded is available.
+ */
+@SpringBootTest
+@DisplayName("OwnerRepository Tests")
+class OwnerRepositoryTest {
+
+	// Jean Coleman, owner of Samantha and Max in the sample data
+	private static final int OWNER_WITH_VISITS_ID = 6;
+
+	@Autowired
+	private OwnerRepository ownerRepository;
+
+	@Autowired
+	private PetTypeRepository petTypeRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	@DisplayName("findById - Should not load pets")
+	void findById_shouldNotLoadPets() {
+		// Act
+		Owner owner = ownerRepository.findById(OWNER_WITH_VISITS_ID).orElseThrow();
+
+		// Assert
+		assertFalse(Hibernate.isInitialized(owner.getPets()));
+	}
+
+	@Test
+	@DisplayName("findWithPetsById - Should load pets and their types but not their visits")
+	void findWithPetsById_shouldLoadPetsAndTypes() {
+		// Act
+		Owner owner = ownerRepository.findWithPetsById(OWNER_WITH_VISITS_ID).orElseThrow();
+
+		// Assert
+		assertTrue(Hibernate.isInitialized(owner.getPets()));
+		assertEquals(2, owner.getPets().size());
+		for (Pet pet : owner.getPets()) {
+			assertTrue(Hibernate.isInitialized(pet.getType()));
+			assertFalse(Hibernate.isInitialized(pet.getVisits()));
+		}
+	}
+
+	@Test
+	@DisplayName("findWithPetsAndVisitsById - Should load pets, their types and their visits")
+	void findWithPetsAndVisitsById_shouldLoadPetsTypesAndVisits() {
+		// Act
+		Owner owner = ownerRepository.findWithPetsAndVisitsById(OWNER_WITH_VISITS_ID).orElseThrow();
+
+		// Assert
+		assertTrue(Hibernate.isInitialized(owner.getPets()));
+		assertEquals(2, owner.getPets().size());
+		for (Pet pet : owner.getPets()) {
+			assertTrue(Hibernate.isInitialized(pet.getType()));
+			assertTrue(Hibernate.isInitialized(pet.getVisits()));
+			assertEquals(2, pet.getVisits().size());
+		}
+	}
+
+	@Test
+	@DisplayName("findSummariesByLastNameStartingWith - Should match last names regardless of case")
+	void findSummariesByLastNameStartingWith_shouldIgnoreCase() {
+		// Act
+		List<OwnerSummary> upper = ownerRepository.findSummariesByLastNameStartingWith("DAV", Limit.of(10));
+		List<OwnerSummary> lower = ownerRepository.findSummariesByLastNameStartingWith("mct", Limit.of(10));
+		List<OwnerSummary> next = ownerRepository.findSummariesByLastNameStartingWithAfter("dAvIs", "DAVIS",
+				upper.get(0).getId(), Limit.of(10));
+
+		// Assert
+		assertEquals(List.of("Davis", "Davis"), upper.stream().map(OwnerSummary::getLastName).toList());
+		assertEquals(List.of("McTavish"), lower.stream().map(OwnerSummary::getLastName).toList());
+		assertEquals(List.of(upper.get(1).getId()), next.stream().map(OwnerSummary::getId).toList());
+		assertEquals(2, ownerRepository.countByLastNameStartingWith("davis"));
+	}
+
+	@Test
+	@DisplayName("save - Should insert a new owner's pets and visits in JDBC batches")
+	void save_shouldBatchInserts() {
+		// Arrange
+		PetType type = petTypeRepository.findAll().get(0);
+		Owner owner = new Owner();
+		owner.setFirstName("Batch");
+		owner.setLastName("Intake");
+		owner.setAddress("1 Shelter Rd.");
+		owner.setCity("Madison");
+		owner.setTelephone("6085550000");
+		for (int i = 0; i < 20; i++) {
+			Pet pet = new Pet();
+			pet.setName("pet-" + i);
+			pet.setBirthDate(LocalDate.of(2020, 1, 1));
+			pet.setType(type);
+			Visit visit = new Visit();
+			visit.setDescription("intake");
+			pet.addVisit(visit);
+			owner.addPet(pet);
+		}
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		// Act
+		Owner saved = ownerRepository.save(owner);
+
+		// Assert
+		try {
+			assertEquals(41, statistics.getEntityInsertCount());
+			// one batched INSERT per table plus the batched owner_id updates of the pets,
+			// instead of one statement per row
+			assertTrue(statistics.getPrepareStatementCount() < 10, statistics.toString());
+		}
+		finally {
+			ownerRepository.delete(saved);
+		}
+	}
+
+	@Test
+	@DisplayName("findVersionById - Should combine the versions of the owner, its pets and their visits")
+	void findVersionById_shouldDescribeOwnerPetsAndVisits() {
+		// Act
+		OwnerVersion version = ownerRepository.findVersionById(OWNER_WITH_VISITS_ID).orElseThrow();
+
+		// Assert
+		// version 0, pets 7 and 8 at version 0, visits 1 to 4
+		assertEquals("0.2.8.0.4.4", version.tag());
+		assertTrue(ownerRepository.findVersionById(9999).isEmpty());
+	}
+
+}
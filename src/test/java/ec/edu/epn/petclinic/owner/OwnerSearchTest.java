@@ -0,0 +1,115 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without a surrounding transaction since the index is only updated when the
+ * transaction saving an owner commits.
+ */
+@SpringBootTest
+@DisplayName("OwnerSearch Tests")
+class OwnerSearchTest {
+
+	@Autowired
+	private OwnerSearch ownerSearch;
+
+	@Autowired
+	private OwnerRepository ownerRepository;
+
+	@Test
+	@DisplayName("search - Should find an owner by a misspelled last name")
+	void search_shouldToleratesTypos() {
+		// Act
+		List<OwnerSummary> owners = ownerSearch.search("Colemn", 10);
+
+		// Assert
+		assertEquals(1, owners.size());
+		assertEquals("Coleman", owners.get(0).getLastName());
+		assertEquals("Max, Samantha", owners.get(0).getPets());
+	}
+
+	@Test
+	@DisplayName("search - Should find an owner by the beginning of the first name")
+	void search_shouldMatchPrefixes() {
+		// Act
+		List<OwnerSummary> owners = ownerSearch.search("jea", 10);
+
+		// Assert
+		assertEquals(1, owners.size());
+		assertEquals("Jean", owners.get(0).getFirstName());
+	}
+
+	@Test
+	@DisplayName("search - Should find an owner by the name of a pet")
+	void search_shouldMatchPetNames() {
+		// Act
+		List<OwnerSummary> owners = ownerSearch.search("Samantha", 10);
+
+		// Assert
+		assertEquals(1, owners.size());
+		assertEquals("Coleman", owners.get(0).getLastName());
+	}
+
+	@Test
+	@DisplayName("search - Should find an owner by telephone whatever the formatting")
+	void search_shouldMatchTelephones() {
+		// Act
+		List<OwnerSummary> owners = ownerSearch.search("608-555-2654", 10);
+
+		// Assert
+		assertEquals(1, owners.size());
+		assertEquals("Coleman", owners.get(0).getLastName());
+	}
+
+	@Test
+	@DisplayName("search - Should require every word to match")
+	void search_shouldMatchAllWords() {
+		// Act
+		List<OwnerSummary> owners = ownerSearch.search("davis windsor", 10);
+
+		// Assert
+		assertEquals(1, owners.size());
+		assertEquals("Harold", owners.get(0).getFirstName());
+	}
+
+	@Test
+	@DisplayName("search - Should return nothing for a blank query")
+	void search_shouldIgnoreBlankQueries() {
+		assertTrue(ownerSearch.search("  ", 10).isEmpty());
+	}
+
+	@Test
+	@DisplayName("search - Should find an owner as soon as it is saved")
+	void search_shouldIndexSavedOwners() {
+		// Arrange
+		Owner owner = new Owner();
+		owner.setFirstName("Zelda");
+		owner.setLastName("Quixotic");
+		owner.setAddress("1 Search St.");
+		owner.setCity("Lucene");
+		owner.setTelephone("6085550000");
+		owner = ownerRepository.save(owner);
+
+		try {
+			// Act
+			List<OwnerSummary> owners = ownerSearch.search("quixot", 10);
+
+			// Assert
+			assertEquals(1, owners.size());
+			assertEquals(owner.getId(), owners.get(0).getId());
+		}
+		finally {
+			ownerRepository.delete(owner);
+		}
+		assertTrue(ownerSearch.search("quixot", 10).isEmpty());
+	}
+
+}
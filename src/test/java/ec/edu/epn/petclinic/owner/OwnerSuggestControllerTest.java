@@ -0,0 +1,49 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@DisplayName("OwnerSuggestController Integration Tests")
+class OwnerSuggestControllerTest {
+
+	@Autowired
+	private WebApplicationContext webApplicationContext;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+	}
+
+	@Test
+	@DisplayName("GET /owners/suggest - Should return the matching owners as JSON")
+	void testSuggest() throws Exception {
+		mockMvc.perform(get("/owners/suggest").param("q", "cole"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(1)))
+			.andExpect(jsonPath("$[0].id").value(6))
+			.andExpect(jsonPath("$[0].firstName").value("Jean"))
+			.andExpect(jsonPath("$[0].lastName").value("Coleman"));
+	}
+
+	@Test
+	@DisplayName("GET /owners/suggest - Should reject a limit out of range")
+	void testSuggestWithInvalidLimit() throws Exception {
+		mockMvc.perform(get("/owners/suggest").param("q", "d").param("limit", "51"))
+			.andExpect(status().isBadRequest());
+	}
+
+}
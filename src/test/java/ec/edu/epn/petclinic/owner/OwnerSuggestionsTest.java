@@ -0,0 +1,149 @@
+
+package ec.edu.epn.petclinic.owner;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs without a surrounding transaction since the suggestions are only updated when the
+ * transaction saving an owner commits.
+ */
+@SpringBootTest
+@DisplayName("OwnerSuggestions Tests")
+class OwnerSuggestionsTest {
+
+	@Autowired
+	private OwnerSuggestions ownerSuggestions;
+
+	@Autowired
+	private OwnerRepository ownerRepository;
+
+	@Test
+	@DisplayName("suggest - Should return the owners whose last name starts with the prefix, ignoring case")
+	void suggest_shouldMatchPrefixIgnoringCase() {
+		// Act
+		List<OwnerSuggestion> owners = ownerSuggestions.suggest("dAV", 10);
+
+		// Assert
+		assertEquals(List.of(new OwnerSuggestion(2, "Betty", "Davis"), new OwnerSuggestion(4, "Harold", "Davis")),
+				owners);
+	}
+
+	@Test
+	@DisplayName("suggest - Should honor the limit")
+	void suggest_shouldHonorLimit() {
+		// Act
+		List<OwnerSuggestion> owners = ownerSuggestions.suggest("e", 1);
+
+		// Assert
+		assertEquals(1, owners.size());
+		assertEquals("Escobito", owners.get(0).lastName());
+	}
+
+	@Test
+	@DisplayName("suggest - Should return nothing for a blank prefix")
+	void suggest_shouldIgnoreBlankPrefix() {
+		assertTrue(ownerSuggestions.suggest(" ", 10).isEmpty());
+	}
+
+	@Test
+	@DisplayName("suggest - Should follow owners being saved, renamed and deleted")
+	void suggest_shouldFollowSavedOwners() {
+		// Arrange
+		Owner owner = new Owner();
+		owner.setFirstName("Zelda");
+		owner.setLastName("Quimby");
+		owner.setAddress("1 Typeahead St.");
+		owner.setCity("Madison");
+		owner.setTelephone("6085550000");
+		owner = ownerRepository.save(owner);
+
+		try {
+			// Act & Assert
+			assertEquals(List.of(new OwnerSuggestion(owner.getId(), "Zelda", "Quimby")),
+					ownerSuggestions.suggest("quim", 10));
+
+			owner.setLastName("Quincy");
+			owner = ownerRepository.save(owner);
+			assertTrue(ownerSuggestions.suggest("quim", 10).isEmpty());
+			assertEquals(1, ownerSuggestions.suggest("quin", 10).size());
+		}
+		finally {
+			ownerRepository.delete(owner);
+		}
+		assertTrue(ownerSuggestions.suggest("qui", 10).isEmpty());
+	}
+
+	@Test
+	@DisplayName("put - Should keep a single entry per owner under concurrent renames")
+	void put_shouldKeepSingleEntryUnderConcurrentRenames() throws InterruptedException {
+		// Arrange
+		OwnerSuggestions suggestions = new OwnerSuggestions(mock(OwnerRepository.class));
+		List<Thread> threads = new ArrayList<>();
+
+		// Act
+		for (String lastName : List.of("Abbott", "Abernathy", "Ackerman", "Adams")) {
+			threads.add(Thread.ofPlatform().start(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					suggestions.put(new OwnerSuggestion(1, "George", lastName));
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		// Assert
+		assertEquals(1, suggestions.suggest("a", 10).size());
+	}
+
+	@Test
+	@DisplayName("load - Should keep the owners saved while loading rather than their stale state")
+	void load_shouldKeepOwnersSavedWhileLoading() {
+		// Arrange
+		OwnerRepository repository = mock(OwnerRepository.class);
+		OwnerSuggestions suggestions = new OwnerSuggestions(repository);
+		when(repository.findAllSuggestions()).thenAnswer(invocation -> {
+			// committed after the owners were read, applied before they are indexed
+			suggestions.put(new OwnerSuggestion(1, "George", "Franklyn"));
+			suggestions.remove(2);
+			return List.of(new OwnerSuggestion(1, "George", "Franklin"), new OwnerSuggestion(2, "Betty", "Davis"),
+					new OwnerSuggestion(3, "Eduardo", "Rodriquez"));
+		});
+
+		// Act
+		suggestions.load();
+
+		// Assert
+		assertEquals(List.of(new OwnerSuggestion(1, "George", "Franklyn")), suggestions.suggest("frank", 10));
+		assertTrue(suggestions.suggest("davis", 10).isEmpty());
+		assertEquals(1, suggestions.suggest("rod", 10).size());
+	}
+
+	@Test
+	@DisplayName("load - Should skip owners without a last name and drop owners losing it")
+	void load_shouldSkipOwnersWithoutLastName() {
+		// Arrange
+		OwnerRepository repository = mock(OwnerRepository.class);
+		OwnerSuggestions suggestions = new OwnerSuggestions(repository);
+		when(repository.findAllSuggestions()).thenReturn(
+				List.of(new OwnerSuggestion(1, "George", null), new OwnerSuggestion(2, "Betty", "Davis")));
+
+		// Act
+		suggestions.load();
+		suggestions.put(new OwnerSuggestion(2, "Betty", null));
+		suggestions.put(new OwnerSuggestion(3, "Harold", "Davis"));
+
+		// Assert
+		assertEquals(List.of(new OwnerSuggestion(3, "Harold", "Davis")), suggestions.suggest("dav", 10));
+	}
+
+}
@@ -3,6 +3,7 @@ package ec.edu.epn.petclinic.owner;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -504,4 +505,62 @@ class OwnerTest {
 		assertTrue(pet2.getVisits().contains(visit));
 	}
 
+	@Test
+	@DisplayName("Should find pet by its new name after it is renamed")
+	void testGetPetAfterRename() {
+		// Arrange
+		owner.getPets().add(pet1);
+		assertEquals(pet1, owner.getPet("Fluffy"));
+
+		// Act
+		pet1.setName("Snowball");
+
+		// Assert
+		assertNull(owner.getPet("Fluffy"));
+		assertEquals(pet1, owner.getPet("snowball"));
+	}
+
+	@Test
+	@DisplayName("Should find pet added after a lookup")
+	void testGetPetAddedAfterLookup() {
+		// Arrange
+		owner.getPets().add(pet1);
+		assertNull(owner.getPet("Whiskers"));
+
+		// Act
+		owner.addPet(pet3);
+		owner.getPets().add(pet2);
+
+		// Assert
+		assertEquals(pet3, owner.getPet("WHISKERS"));
+		assertEquals(pet2, owner.getPet(2));
+	}
+
+	@Test
+	@DisplayName("Should find new pet by ID once the ID is assigned on save")
+	void testGetPetByIdAssignedOnSave() {
+		// Arrange
+		owner.addPet(pet3);
+		assertNull(owner.getPet("Whiskers", true));
+
+		// Act: the persistence provider assigns the id without calling the setter
+		ReflectionTestUtils.setField(pet3, "id", 3);
+
+		// Assert
+		assertEquals(pet3, owner.getPet(3));
+		assertEquals(pet3, owner.getPet("Whiskers", true));
+	}
+
+	@Test
+	@DisplayName("Should keep the normalized last name in sync with the last name")
+	void testSetLastNameNormalizesLastName() {
+		// Act
+		owner.setLastName("McTavish");
+
+		// Assert
+		assertEquals("mctavish", ReflectionTestUtils.getField(owner, "normalizedLastName"));
+		assertEquals("McTavish", owner.getLastName());
+		assertNull(Owner.normalizeLastName(null));
+	}
+
 }
@@ -14,7 +14,7 @@ class PetTypeFormatterTest {
     @Test
     void print_shouldReturnName_whenNameIsNotNull() {
         PetTypeRepository repo = mock(PetTypeRepository.class);
-        PetTypeFormatter formatter = new PetTypeFormatter(repo);
+        PetTypeFormatter formatter = new PetTypeFormatter(new PetTypeIndex(repo));
 
         PetType type = new PetType();
         type.setName("cat");
@@ -25,7 +25,7 @@ class PetTypeFormatterTest {
     @Test
     void print_shouldReturnNullPlaceholder_whenNameIsNull() {
         PetTypeRepository repo = mock(PetTypeRepository.class);
-        PetTypeFormatter formatter = new PetTypeFormatter(repo);
+        PetTypeFormatter formatter = new PetTypeFormatter(new PetTypeIndex(repo));
 
         PetType type = new PetType(); // name null
         assertEquals("<null>", formatter.print(type, Locale.ENGLISH));
@@ -42,7 +42,7 @@ class PetTypeFormatterTest {
 
         when(repo.findPetTypes()).thenReturn(List.of(cat, dog));
 
-        PetTypeFormatter formatter = new PetTypeFormatter(repo);
+        PetTypeFormatter formatter = new PetTypeFormatter(new PetTypeIndex(repo));
 
         PetType parsed = formatter.parse("dog", Locale.ENGLISH);
         assertSame(dog, parsed);
@@ -58,7 +58,7 @@ class PetTypeFormatterTest {
 
         when(repo.findPetTypes()).thenReturn(List.of(cat));
 
-        PetTypeFormatter formatter = new PetTypeFormatter(repo);
+        PetTypeFormatter formatter = new PetTypeFormatter(new PetTypeIndex(repo));
 
         ParseException ex = assertThrows(ParseException.class,
                 () -> formatter.parse("lion", Locale.ENGLISH));
@@ -66,4 +66,26 @@ class PetTypeFormatterTest {
         assertTrue(ex.getMessage().contains("type not found"));
         verify(repo).findPetTypes();
     }
+
+    @Test
+    void parse_shouldReuseIndex_untilCachedTypesAreReplaced() throws Exception {
+        PetTypeRepository repo = mock(PetTypeRepository.class);
+
+        PetType cat = new PetType();
+        cat.setName("cat");
+        PetType dog = new PetType();
+        dog.setName("dog");
+
+        List<PetType> cached = List.of(cat);
+        when(repo.findPetTypes()).thenReturn(cached);
+
+        PetTypeFormatter formatter = new PetTypeFormatter(new PetTypeIndex(repo));
+
+        assertSame(cat, formatter.parse("cat", Locale.ENGLISH));
+        assertThrows(ParseException.class, () -> formatter.parse("dog", Locale.ENGLISH));
+
+        when(repo.findPetTypes()).thenReturn(List.of(cat, dog));
+
+        assertSame(dog, formatter.parse("dog", Locale.ENGLISH));
+    }
 }
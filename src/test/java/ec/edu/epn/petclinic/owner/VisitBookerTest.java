@@ -0,0 +1,67 @@
+package ec.edu.epn.petclinic.owner;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@DisplayName("VisitBooker Tests")
+class VisitBookerTest {
+
+	// Jean Coleman, owner of Samantha and Max in the sample data
+	private static final int OWNER_WITH_VISITS_ID = 6;
+
+	private static final int SAMANTHA_ID = 7;
+
+	@Autowired
+	private VisitBooker visitBooker;
+
+	@Autowired
+	private VisitRepository visitRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	@DisplayName("book - Should insert the visit without loading the owner, its pets or their visits")
+	void book_shouldOnlyInsertTheVisit() {
+		// Arrange
+		Visit visit = new Visit();
+		visit.setDescription("checkup");
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		// Act
+		visitBooker.book(OWNER_WITH_VISITS_ID, SAMANTHA_ID, visit);
+		visitRepository.flush();
+
+		// Assert
+		assertEquals(1, statistics.getEntityInsertCount());
+		assertEquals(0, statistics.getEntityLoadCount(), statistics.toString());
+		assertEquals(0, statistics.getCollectionLoadCount(), statistics.toString());
+		assertEquals("checkup", visitRepository.findLatestByPetId(SAMANTHA_ID, Limit.of(1)).get(0).getDescription());
+	}
+
+	@Test
+	@DisplayName("book - Should reject a pet of another owner")
+	void book_shouldRejectPetOfAnotherOwner() {
+		// Arrange
+		Visit visit = new Visit();
+		visit.setDescription("checkup");
+
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> visitBooker.book(1, SAMANTHA_ID, visit));
+		assertNull(visit.getId());
+	}
+
+}
@@ -1,22 +1,26 @@
 package ec.edu.epn.petclinic.owner;
 
 import static org.hamcrest.Matchers.*;
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import jakarta.servlet.ServletException;
+
 
 
 @SpringBootTest
@@ -35,6 +39,9 @@ class VisitControllerTest {
 	@Autowired
 	private PetTypeRepository petTypeRepository;
 
+	@Autowired
+	private VisitRepository visitRepository;
+
 	private Owner owner;
 	private Pet pet;
 	private PetType petType;
@@ -87,8 +94,26 @@ class VisitControllerTest {
 			.andExpect(status().is3xxRedirection())
 			.andExpect(flash().attribute("message", "Your visit has been booked"));
 
-		Owner updated = ownerRepository.findById(owner.getId()).orElseThrow();
-		assertEquals(1, updated.getPets().iterator().next().getVisits().size());
+		List<Visit> visits = visitRepository.findLatestByPetId(pet.getId(), Limit.of(10));
+		assertEquals(1, visits.size());
+		assertEquals("Annual checkup", visits.get(0).getDescription());
+	}
+
+	@Test
+	@DisplayName("POST visit for a pet of another owner")
+	void testProcessNewVisitFormForAnotherOwnersPet() {
+		Owner other = new Owner();
+		other.setFirstName("Jane");
+		other.setLastName("Roe");
+		other.setAddress("456 Oak Ave");
+		other.setCity("Springfield");
+		other.setTelephone("0987654321");
+		Owner saved = ownerRepository.save(other);
+
+		assertThrows(ServletException.class,
+				() -> mockMvc.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", saved.getId(), pet.getId())
+					.param("description", "Annual checkup")));
+		assertTrue(visitRepository.findLatestByPetId(pet.getId(), Limit.of(10)).isEmpty());
 	}
 
 	@Test
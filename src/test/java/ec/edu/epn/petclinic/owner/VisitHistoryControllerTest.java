@@ -0,0 +1,121 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import jakarta.servlet.ServletException;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@Transactional
+@DisplayName("VisitHistoryController Integration Tests")
+class VisitHistoryControllerTest {
+
+	private static final int VISIT_COUNT = 12;
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private OwnerRepository ownerRepository;
+
+	@Autowired
+	private PetTypeRepository petTypeRepository;
+
+	private MockMvc mockMvc;
+
+	private Owner owner;
+
+	private Pet pet;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+		owner = new Owner();
+		owner.setFirstName("John");
+		owner.setLastName("Doe");
+		owner.setAddress("123 Main St");
+		owner.setCity("Springfield");
+		owner.setTelephone("1234567890");
+		pet = new Pet();
+		pet.setName("Rex");
+		pet.setBirthDate(LocalDate.of(2010, 1, 1));
+		pet.setType(petTypeRepository.findPetTypes().get(0));
+		for (int i = 1; i <= VISIT_COUNT; i++) {
+			Visit visit = new Visit();
+			visit.setDate(LocalDate.of(2020, i, 1));
+			visit.setDescription("visit " + i);
+			pet.addVisit(visit);
+		}
+		owner.addPet(pet);
+		owner = ownerRepository.save(owner);
+		pet = owner.getPet("Rex");
+	}
+
+	@Test
+	@DisplayName("GET /owners/{ownerId} - Should show only the recent visits of each pet")
+	void testShowOwnerWithRecentVisits() throws Exception {
+		mockMvc.perform(get("/owners/{ownerId}", owner.getId()))
+			.andExpect(status().isOk())
+			.andExpect(model().attribute("recentVisits", instanceOf(RecentVisits.class)))
+			.andExpect(content().string(containsString("visit 12")))
+			.andExpect(content().string(containsString("visit 8")))
+			.andExpect(content().string(not(containsString("visit 7"))))
+			.andExpect(content().string(containsString("/visits?page=1")));
+	}
+
+	@Test
+	@DisplayName("GET visits page - Should return the next page of older visits")
+	void testShowVisitPage() throws Exception {
+		mockMvc.perform(get("/owners/{ownerId}/pets/{petId}/visits", owner.getId(), pet.getId()).param("page", "1"))
+			.andExpect(status().isOk())
+			.andExpect(view().name("owners/visitRows :: visitRows"))
+			.andExpect(model().attribute("visits", hasSize(VisitHistoryController.PAGE_SIZE)))
+			.andExpect(model().attribute("visits", hasItem(hasProperty("description", is("visit 7")))))
+			.andExpect(model().attribute("nextPage", 2))
+			.andExpect(content().string(containsString("visit 3")));
+	}
+
+	@Test
+	@DisplayName("GET visits page - Should not offer more visits on the last page")
+	void testShowLastVisitPage() throws Exception {
+		mockMvc.perform(get("/owners/{ownerId}/pets/{petId}/visits", owner.getId(), pet.getId()).param("page", "2"))
+			.andExpect(status().isOk())
+			.andExpect(model().attribute("visits", hasSize(2)))
+			.andExpect(model().attribute("nextPage", nullValue()))
+			.andExpect(content().string(not(containsString("more-visits"))));
+	}
+
+	@Test
+	@DisplayName("GET visits between dates - Should return the visits in the range")
+	void testShowVisitsBetween() throws Exception {
+		mockMvc
+			.perform(get("/owners/{ownerId}/pets/{petId}/visits", owner.getId(), pet.getId()).param("from", "2020-03-01")
+				.param("to", "2020-05-31"))
+			.andExpect(status().isOk())
+			.andExpect(model().attribute("visits", contains(hasProperty("description", is("visit 3")),
+					hasProperty("description", is("visit 4")), hasProperty("description", is("visit 5")))));
+	}
+
+	@Test
+	@DisplayName("GET visits page - Should reject a pet of another owner")
+	void testShowVisitPageOfAnotherOwner() {
+		assertThrows(ServletException.class,
+				() -> mockMvc.perform(get("/owners/{ownerId}/pets/{petId}/visits", 6, pet.getId())));
+	}
+
+}
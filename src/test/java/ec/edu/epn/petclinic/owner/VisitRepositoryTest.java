@@ -0,0 +1,83 @@
+package ec.edu.epn.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("VisitRepository Tests")
+class VisitRepositoryTest {
+
+	// Jean Coleman, owner of Samantha and Max in the sample data
+	private static final int OWNER_WITH_VISITS_ID = 6;
+
+	private static final int SAMANTHA_ID = 7;
+
+	private static final int MAX_ID = 8;
+
+	@Autowired
+	private VisitRepository visitRepository;
+
+	@Test
+	@DisplayName("findByPetId - Should page visits from the most recent")
+	void findByPetId_shouldPageFromMostRecent() {
+		// Act
+		Slice<Visit> first = visitRepository.findByPetId(SAMANTHA_ID, PageRequest.of(0, 1));
+		Slice<Visit> second = visitRepository.findByPetId(SAMANTHA_ID, PageRequest.of(1, 1));
+
+		// Assert
+		assertEquals("spayed", first.getContent().get(0).getDescription());
+		assertTrue(first.hasNext());
+		assertEquals("rabies shot", second.getContent().get(0).getDescription());
+		assertFalse(second.hasNext());
+	}
+
+	@Test
+	@DisplayName("findLatestByPetId - Should return the latest visits")
+	void findLatestByPetId_shouldReturnLatestVisits() {
+		// Act
+		List<Visit> visits = visitRepository.findLatestByPetId(MAX_ID, Limit.of(1));
+
+		// Assert
+		assertEquals(1, visits.size());
+		assertEquals(LocalDate.of(2013, 1, 3), visits.get(0).getDate());
+	}
+
+	@Test
+	@DisplayName("findByPetIdAndDateBetween - Should return visits in the date range in order")
+	void findByPetIdAndDateBetween_shouldReturnVisitsInRange() {
+		// Act
+		List<Visit> visits = visitRepository.findByPetIdAndDateBetween(SAMANTHA_ID, LocalDate.of(2013, 1, 1),
+				LocalDate.of(2013, 1, 4));
+		List<Visit> none = visitRepository.findByPetIdAndDateBetween(SAMANTHA_ID, LocalDate.of(2013, 1, 2),
+				LocalDate.of(2013, 1, 3));
+
+		// Assert
+		assertEquals(List.of("rabies shot", "spayed"), visits.stream().map(Visit::getDescription).toList());
+		assertTrue(none.isEmpty());
+	}
+
+	@Test
+	@DisplayName("findLatestByOwnerId - Should return the latest visits of each pet of the owner")
+	void findLatestByOwnerId_shouldReturnLatestVisitsPerPet() {
+		// Act
+		List<PetVisit> visits = visitRepository.findLatestByOwnerId(OWNER_WITH_VISITS_ID, 1);
+
+		// Assert
+		assertEquals(2, visits.size());
+		assertEquals(SAMANTHA_ID, visits.get(0).petId());
+		assertEquals("spayed", visits.get(0).visit().getDescription());
+		assertEquals(MAX_ID, visits.get(1).petId());
+		assertEquals("neutered", visits.get(1).visit().getDescription());
+	}
+
+}
@@ -0,0 +1,72 @@
+package ec.edu.epn.petclinic.system;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigurationTest {
+
+    private CaffeineCacheManager cacheManager(String name, CacheSpecProperties.Spec spec,
+            StaticListableBeanFactory beanFactory) {
+        CacheSpecProperties properties = new CacheSpecProperties();
+        properties.getSpecs().put(name, spec);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        new CacheConfiguration()
+            .petclinicCacheConfigurationCustomizer(properties, beanFactory.getBeanProvider(CacheReloader.class))
+            .customize(cacheManager);
+        return cacheManager;
+    }
+
+    @Test
+    void customizer_shouldBoundCacheByNumberOfCachedElements() {
+        CacheSpecProperties.Spec spec = new CacheSpecProperties.Spec();
+        spec.setMaximumWeight(5);
+        CaffeineCache cache = (CaffeineCache) cacheManager("vets", spec, new StaticListableBeanFactory())
+            .getCache("vets");
+
+        cache.put("first", List.of(1, 2, 3));
+        cache.put("second", List.of(4, 5, 6));
+        cache.getNativeCache().cleanUp();
+
+        assertEquals(1, cache.getNativeCache().estimatedSize());
+    }
+
+    @Test
+    void customizer_shouldLoadThroughReloader_whenRefreshIsConfigured() {
+        CacheSpecProperties.Spec spec = new CacheSpecProperties.Spec();
+        spec.setRefreshAfterWrite(Duration.ofMinutes(5));
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("reloader", new CacheReloader() {
+            @Override
+            public String getCacheName() {
+                return "vets";
+            }
+
+            @Override
+            public Object reload(Object key) {
+                return "reloaded " + key;
+            }
+        });
+        CaffeineCache cache = (CaffeineCache) cacheManager("vets", spec, beanFactory).getCache("vets");
+
+        assertEquals("reloaded key", cache.get("key", String.class));
+        assertTrue(cache.getNativeCache().policy().refreshAfterWrite().isPresent());
+    }
+
+    @Test
+    void customizer_shouldFailToLoad_whenRefreshIsConfiguredWithoutReloader() {
+        CacheSpecProperties.Spec spec = new CacheSpecProperties.Spec();
+        spec.setRefreshAfterWrite(Duration.ofMinutes(5));
+        CaffeineCache cache = (CaffeineCache) cacheManager("vets", spec, new StaticListableBeanFactory())
+            .getCache("vets");
+
+        assertThrows(IllegalStateException.class, () -> cache.get("key"));
+    }
+
+}
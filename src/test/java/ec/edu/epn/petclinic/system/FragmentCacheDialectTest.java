@@ -0,0 +1,223 @@
+package ec.edu.epn.petclinic.system;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import ec.edu.epn.petclinic.vet.Specialty;
+import ec.edu.epn.petclinic.vet.Vet;
+import ec.edu.epn.petclinic.vet.VetRepository;
+import jakarta.persistence.EntityManager;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@DisplayName("Fragment Cache Integration Tests")
+class FragmentCacheDialectTest {
+
+	@Autowired
+	private WebApplicationContext webApplicationContext;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@MockitoSpyBean
+	private VetRepository vetRepository;
+
+	private MockMvc mockMvc;
+
+	private Cache fragments;
+
+	@BeforeEach
+	void setUp() {
+		this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+		this.fragments = cacheManager.getCache(FragmentCacheDialect.CACHE_NAME);
+		this.fragments.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.fragments.clear();
+	}
+
+	private Set<String> cachedKeys() {
+		return ((CaffeineCache) this.fragments).getNativeCache()
+			.asMap()
+			.keySet()
+			.stream()
+			.map(String::valueOf)
+			.collect(Collectors.toSet());
+	}
+
+	@Test
+	@DisplayName("Should render the same page from the cached fragments")
+	void shouldRenderSamePageFromCachedFragments() throws Exception {
+		// Act
+		String first = mockMvc.perform(get("/vets.html"))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+		String second = mockMvc.perform(get("/vets.html"))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+
+		// Assert
+		assertEquals(first, second);
+		assertTrue(first.contains("James Carter"));
+		assertTrue(first.contains("nav-link active"));
+		assertFalse(first.contains("pc:cache"));
+		assertTrue(cachedKeys().contains("fragments/layout::nav-vets::en"), () -> cachedKeys().toString());
+		assertTrue(cachedKeys().stream().anyMatch(key -> key.startsWith("vets/vetList::vets-1-")),
+				() -> cachedKeys().toString());
+	}
+
+	@Test
+	@DisplayName("Should serve the cached HTML instead of rendering the fragment")
+	void shouldServeCachedHtml() throws Exception {
+		// Arrange
+		this.fragments.put("fragments/layout::nav-owners::en", "<nav>cached navigation</nav>");
+
+		// Act & Assert
+		mockMvc.perform(get("/owners/find"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("<nav>cached navigation</nav>")))
+			.andExpect(content().string(not(containsString("navbar-nav"))));
+	}
+
+	@Test
+	@DisplayName("Should cache fragments separately per locale")
+	void shouldCacheFragmentsPerLocale() throws Exception {
+		// Arrange
+		mockMvc.perform(get("/owners/find")).andExpect(status().isOk());
+
+		// Act & Assert
+		mockMvc.perform(get("/owners/find").param("lang", "es"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("Buscar propietarios")));
+		assertTrue(cachedKeys().containsAll(Set.of("fragments/layout::nav-owners::en",
+				"fragments/layout::nav-owners::es")), () -> cachedKeys().toString());
+	}
+
+	@Test
+	@DisplayName("Should render the vet list again when only the specialties of a vet change")
+	void shouldRenderVetListAgainWhenVetSpecialtiesChange() throws Exception {
+		// Arrange
+		MvcResult before = mockMvc.perform(get("/vets.html")).andExpect(status().isOk()).andReturn();
+		int dentists = countDentists(before.getResponse().getContentAsString());
+
+		// Act
+		transactionTemplate.executeWithoutResult(status -> entityManager.find(Vet.class, 1)
+			.addSpecialty(entityManager.find(Specialty.class, 3)));
+
+		// Assert
+		try {
+			String after = mockMvc
+				.perform(get("/vets.html").header("If-None-Match", before.getResponse().getHeader("ETag")))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+			assertEquals(dentists + 1, countDentists(after));
+		}
+		finally {
+			transactionTemplate.executeWithoutResult(status -> entityManager
+				.createNativeQuery("DELETE FROM vet_specialties WHERE vet_id = 1 AND specialty_id = 3")
+				.executeUpdate());
+			// the native delete bypasses the listeners clearing the vet caches
+			for (String name : new String[] { "vets", "vetPages" }) {
+				cacheManager.getCache(name).clear();
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("Should not cache the vet list under the version of a change made while it loads")
+	void shouldNotCacheVetListLoadedBeforeChange() throws Exception {
+		// Arrange
+		// the spy is called through the caching proxy: stubbing must reach it, and caches
+		// the empty page it answers while stubbed
+		cacheManager.getCache("vetPages").clear();
+		// the spy delegates to the repository through its default answer
+		Answer<?> repository = mockingDetails(vetRepository).getMockCreationSettings().getDefaultAnswer();
+		AtomicBoolean renamed = new AtomicBoolean();
+		doAnswer(invocation -> {
+			Object page = repository.answer(invocation);
+			if (renamed.compareAndSet(false, true)) {
+				// committed once the page was read, so the page rendered is already stale
+				renameVet("Jimmy");
+			}
+			return page;
+		}).when(vetRepository).findAll(PageRequest.of(0, 5));
+		cacheManager.getCache("vetPages").clear();
+
+		try {
+			// Act
+			String stale = mockMvc.perform(get("/vets.html"))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+			String after = mockMvc.perform(get("/vets.html"))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+
+			// Assert
+			assertTrue(stale.contains("James Carter"));
+			assertTrue(after.contains("Jimmy Carter"));
+		}
+		finally {
+			renameVet("James");
+		}
+	}
+
+	/**
+	 * Rename the first vet from another thread, so that the change is made and committed
+	 * outside of the persistence context of the current request.
+	 */
+	private void renameVet(String firstName) {
+		CompletableFuture.runAsync(() -> transactionTemplate
+			.executeWithoutResult(status -> entityManager.find(Vet.class, 1).setFirstName(firstName))).join();
+	}
+
+	private static int countDentists(String html) {
+		return html.split("dentistry", -1).length - 1;
+	}
+
+}
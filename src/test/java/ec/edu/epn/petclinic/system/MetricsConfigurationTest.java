@@ -0,0 +1,89 @@
+
+package ec.edu.epn.petclinic.system;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@DisplayName("Metrics Integration Tests")
+class MetricsConfigurationTest {
+
+	@Autowired
+	private WebApplicationContext webApplicationContext;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+	}
+
+	@Test
+	@DisplayName("Should record the entities loaded by each request")
+	void shouldRecordEntitiesLoadedPerRequest() throws Exception {
+		// Act
+		mockMvc.perform(get("/owners/{ownerId}", 6)).andExpect(status().isOk());
+
+		// Assert
+		DistributionSummary summary = registry.find(RequestStatisticsInterceptor.ENTITIES_LOADED)
+			.tag("method", "GET")
+			.tag("uri", "/owners/{ownerId}")
+			.summary();
+		assertNotNull(summary);
+		assertTrue(summary.count() >= 1);
+		// Jean Coleman, her two pets, their type and their recent visits
+		assertTrue(summary.max() >= 4, () -> "max " + summary.max());
+	}
+
+	@Test
+	@DisplayName("Should time repository methods")
+	void shouldTimeRepositoryMethods() throws Exception {
+		// Act
+		mockMvc.perform(get("/owners/{ownerId}/edit", 1)).andExpect(status().isOk());
+
+		// Assert
+		Timer timer = registry.find("spring.data.repository.invocations")
+			.tag("repository", "OwnerRepository")
+			.tag("method", "findById")
+			.timer();
+		assertNotNull(timer);
+		assertTrue(timer.count() >= 1);
+	}
+
+	@Test
+	@DisplayName("Should expose the hits and misses of the vets cache")
+	void shouldExposeVetsCacheStatistics() throws Exception {
+		// Act
+		mockMvc.perform(get("/vets.html")).andExpect(status().isOk());
+		mockMvc.perform(get("/vets.html")).andExpect(status().isOk());
+
+		// Assert
+		assertNotNull(registry.find("cache.gets").tag("cache", "vets").tag("result", "hit").functionCounter());
+		assertNotNull(registry.find("cache.gets").tag("cache", "vets").tag("result", "miss").functionCounter());
+		assertTrue(registry.find("cache.gets").tag("cache", "vets").tag("result", "hit").functionCounter().count() >= 1);
+	}
+
+	@Test
+	@DisplayName("Should expose the Hibernate statistics")
+	void shouldExposeHibernateStatistics() {
+		assertNotNull(registry.find("hibernate.entities.loads").functionCounter());
+	}
+
+}
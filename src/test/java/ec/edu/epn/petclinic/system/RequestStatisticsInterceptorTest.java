@@ -0,0 +1,76 @@
+
+package ec.edu.epn.petclinic.system;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RequestStatisticsInterceptor Tests")
+class RequestStatisticsInterceptorTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private final RequestStatisticsProperties properties = new RequestStatisticsProperties();
+
+	private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/owners/1");
+
+	private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+	@Test
+	@DisplayName("Should record the statements of the request and report them in a header")
+	void shouldRecordStatements() throws Exception {
+		// Arrange
+		properties.setHeader(true);
+		RequestStatisticsInterceptor interceptor = new RequestStatisticsInterceptor(registry, properties);
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/owners/{ownerId}");
+
+		// Act
+		interceptor.preHandle(request, response, this);
+		RequestStatistics.statementPrepared("select * from owners where id=?");
+		RequestStatistics.statementPrepared("select * from pets where owner_id=?");
+		interceptor.postHandle(request, response, this, null);
+		interceptor.afterCompletion(request, response, this, null);
+		RequestStatistics.statementPrepared("select 1");
+
+		// Assert
+		assertEquals("2", response.getHeader(RequestStatisticsInterceptor.STATEMENTS_HEADER));
+		DistributionSummary summary = registry.find(RequestStatisticsInterceptor.STATEMENTS)
+			.tag("uri", "/owners/{ownerId}")
+			.summary();
+		assertNotNull(summary);
+		assertEquals(1, summary.count());
+		assertEquals(2, summary.totalAmount());
+	}
+
+	@Test
+	@DisplayName("Should fail a request over the statement budget when configured to")
+	void shouldFailOverBudget() throws Exception {
+		// Arrange
+		properties.setStatementBudget(1);
+		properties.setFailOverBudget(true);
+		RequestStatisticsInterceptor interceptor = new RequestStatisticsInterceptor(registry, properties);
+
+		// Act
+		interceptor.preHandle(request, response, this);
+		try {
+			RequestStatistics.statementPrepared("select * from pets where id=?");
+			RequestStatistics.statementPrepared("select * from pets where id=?");
+
+			// Assert
+			IllegalStateException ex = assertThrows(IllegalStateException.class,
+					() -> interceptor.postHandle(request, response, this, null));
+			assertTrue(ex.getMessage().contains("2 SQL statements, over the budget of 1"), ex.getMessage());
+		}
+		finally {
+			interceptor.afterCompletion(request, response, this, null);
+		}
+	}
+
+}
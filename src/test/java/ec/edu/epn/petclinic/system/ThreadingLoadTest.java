@@ -0,0 +1,181 @@
+package ec.edu.epn.petclinic.system;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import ec.edu.epn.petclinic.PetClinicApplication;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the throughput of the application handling requests on the platform Tomcat
+ * pool and on virtual threads, under the same closed-loop load. Both run against a MySQL
+ * database started with Testcontainers: the in-memory H2 database answers without any
+ * network round trip, so the threads would never block on I/O. Not part of the regular
+ * build; run it, with Docker available, with
+ * <code>mvn test -Dtest=ThreadingLoadTest -Dpetclinic.load-test=true</code> and tune
+ * <code>petclinic.load-test.concurrency</code> and <code>petclinic.load-test.seconds</code>.
+ */
+@EnabledIfSystemProperty(named = "petclinic.load-test", matches = "true")
+@Testcontainers(disabledWithoutDocker = true)
+class ThreadingLoadTest {
+
+	private static final Log logger = LogFactory.getLog(ThreadingLoadTest.class);
+
+	@Container
+	static MySQLContainer mysql = new MySQLContainer("mysql:9.5").withUrlParam("rewriteBatchedStatements", "true");
+
+	private static final int CONCURRENCY = Integer.getInteger("petclinic.load-test.concurrency", 1000);
+
+	private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("petclinic.load-test.seconds", 20));
+
+	private static final Duration WARMUP = Duration.ofSeconds(5);
+
+	// a mix of the pages a visitor goes through: owner search, owner details, vets
+	private static final String[] PATHS = { "/owners?lastName=", "/owners?lastName=Davis", "/owners/%d",
+			"/owners/%d/pets/%d/edit", "/vets.html", "/vets" };
+
+	@Test
+	void compareThroughputOfPlatformAndVirtualThreads() throws Exception {
+		Result platform = run(false);
+		Result virtual = run(true);
+
+		logger.info(String.format("%n%-10s %12s %10s %10s %8s%n%s%n%s", "threads", "requests/s", "p50 ms", "p99 ms",
+				"errors", platform, virtual));
+		assertEquals(0, platform.errors);
+		assertEquals(0, virtual.errors);
+	}
+
+	private Result run(boolean virtualThreads) throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PetClinicApplication.class)
+			.profiles("mysql")
+			.properties("server.port=0", "spring.threads.virtual.enabled=" + virtualThreads,
+					// read by application-mysql.properties
+					"MYSQL_URL=" + mysql.getJdbcUrl(), "MYSQL_USER=" + mysql.getUsername(),
+					"MYSQL_PASS=" + mysql.getPassword(),
+					"spring.datasource.hikari.maximum-pool-size=20", "logging.level.root=WARN",
+					"logging.level.ec.edu.epn.petclinic.system.ThreadingLoadTest=INFO")
+			.run()) {
+			String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+			load(base, WARMUP);
+			Result result = load(base, DURATION);
+			result.name = virtualThreads ? "virtual" : "platform";
+			return result;
+		}
+	}
+
+	private Result load(String base, Duration duration) throws InterruptedException {
+		HttpClient client = HttpClient.newBuilder()
+			.executor(command -> Thread.ofVirtual().start(command))
+			.connectTimeout(Duration.ofSeconds(10))
+			.build();
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicLong errors = new AtomicLong();
+		List<long[]> latencies = new ArrayList<>();
+		List<Thread> users = new ArrayList<>();
+		for (int i = 0; i < CONCURRENCY; i++) {
+			long[] samples = new long[1 << 16];
+			latencies.add(samples);
+			users.add(Thread.ofVirtual().start(() -> {
+				int count = 0;
+				while (running.get()) {
+					long start = System.nanoTime();
+					try {
+						HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(base + path()))
+							.timeout(Duration.ofSeconds(30))
+							.build(), HttpResponse.BodyHandlers.discarding());
+						if (response.statusCode() != 200) {
+							errors.incrementAndGet();
+						}
+					}
+					catch (Exception ex) {
+						errors.incrementAndGet();
+					}
+					if (count + 1 < samples.length) {
+						samples[++count] = System.nanoTime() - start;
+					}
+				}
+				samples[0] = count;
+			}));
+		}
+		Thread.sleep(duration);
+		running.set(false);
+		for (Thread user : users) {
+			user.join();
+		}
+		client.close();
+		return new Result(latencies, errors.get(), duration);
+	}
+
+	private static String path() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		String path = PATHS[random.nextInt(PATHS.length)];
+		// owners 1 to 10 of the sample data, each with their first pet
+		int ownerId = random.nextInt(1, 11);
+		int[] firstPets = { 1, 2, 3, 5, 6, 7, 9, 10, 11, 12 };
+		return String.format(path, ownerId, firstPets[ownerId - 1]);
+	}
+
+	private static final class Result {
+
+		private String name;
+
+		private final long requests;
+
+		private final long errors;
+
+		private final double throughput;
+
+		private final double p50;
+
+		private final double p99;
+
+		private Result(List<long[]> latencies, long errors, Duration duration) {
+			long requests = 0;
+			for (long[] samples : latencies) {
+				requests += samples[0];
+			}
+			long[] all = new long[(int) Math.min(requests, Integer.MAX_VALUE - 8)];
+			int i = 0;
+			for (long[] samples : latencies) {
+				int count = (int) Math.min(samples[0], samples.length - 1);
+				for (int j = 1; j <= count && i < all.length; j++) {
+					all[i++] = samples[j];
+				}
+			}
+			Arrays.sort(all, 0, i);
+			this.requests = requests;
+			this.errors = errors;
+			this.throughput = requests / (duration.toMillis() / 1000.0);
+			this.p50 = (i > 0) ? all[i / 2] / 1_000_000.0 : 0;
+			this.p99 = (i > 0) ? all[(int) (i * 0.99)] / 1_000_000.0 : 0;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%-10s %12.0f %10.1f %10.1f %8d", this.name, this.throughput, this.p50, this.p99,
+					this.errors);
+		}
+
+	}
+
+}
@@ -0,0 +1,51 @@
+package ec.edu.epn.petclinic.system;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    void monitor_shouldRecordPinnedVirtualThreadWithApplicationCaller() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(registry, Duration.ofMillis(10));
+        monitor.start();
+        try {
+            Thread.ofVirtual().start(this::blockWhilePinned).join();
+
+            Timer timer = null;
+            for (int i = 0; i < 100 && timer == null; i++) {
+                Thread.sleep(100);
+                timer = registry.find(VirtualThreadPinningMonitor.TIMER_NAME)
+                    .tag("caller", getClass().getName() + ".blockWhilePinned")
+                    .timer();
+            }
+            assertNotNull(timer);
+            assertEquals(1, timer.count());
+        }
+        finally {
+            monitor.stop();
+        }
+        assertFalse(monitor.isRunning());
+    }
+
+    private void blockWhilePinned() {
+        synchronized (this.lock) {
+            try {
+                Thread.sleep(100);
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package ec.edu.epn.petclinic.vet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@DisplayName("VetApiController Integration Tests")
+class VetApiControllerTest {
+
+	@Autowired
+	private WebApplicationContext webApplicationContext;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+	}
+
+	@Test
+	@DisplayName("GET /api/vets - Should list all vets as a JSON array")
+	void testFindVets() throws Exception {
+		// Act
+		MvcResult result = mockMvc.perform(get("/api/vets")).andExpect(request().asyncStarted()).andReturn();
+
+		// Assert
+		mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(6)))
+			.andExpect(jsonPath("$[1].specialties[0].name").value("radiology"));
+	}
+
+	@Test
+	@DisplayName("GET /api/vets - Should stream one vet per line as NDJSON")
+	void testStreamVets() throws Exception {
+		// Act
+		MvcResult result = mockMvc.perform(get("/api/vets").accept("application/x-ndjson"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		result.getAsyncResult();
+
+		// Assert
+		String[] lines = result.getResponse().getContentAsString().split("\\n");
+		assertEquals(6, lines.length);
+		assertTrue(lines[0].contains("\"firstName\":\"James\""));
+	}
+
+}
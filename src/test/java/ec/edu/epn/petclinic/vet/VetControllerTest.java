@@ -5,18 +5,27 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
+
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 
-@SpringBootTest
+/**
+ * Fails any request issuing more than five SQL statements, to catch N+1 selects. Each
+ * request starts from an empty persistence context, as it would outside of the test
+ * transaction, so that none of its reads is served by the entities of the test.
+ */
+@SpringBootTest(properties = { "petclinic.request-statistics.statement-budget=5",
+		"petclinic.request-statistics.fail-over-budget=true", "petclinic.request-statistics.header=true" })
 @Transactional
 @DisplayName("VetController Integration Tests")
 class VetControllerTest {
@@ -26,6 +35,12 @@ class VetControllerTest {
 
 	private MockMvc mockMvc;
 
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private CacheManager cacheManager;
+
 	@Autowired
 	private VetRepository vetRepository;
 
@@ -39,7 +54,17 @@ class VetControllerTest {
 
 	@BeforeEach
 	void setUp() {
-		this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+		this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+			.defaultRequest(get("/").with(request -> {
+				entityManager.flush();
+				entityManager.clear();
+				return request;
+			}))
+			.build();
+		// read the vets from the database rather than from the caches filled by other tests
+		for (String name : VetCacheEvictionListener.CACHE_NAMES) {
+			cacheManager.getCache(name).clear();
+		}
 
 		// Create test specialties
 		specialty1 = new Specialty();
@@ -361,4 +386,72 @@ class VetControllerTest {
 		}
 	}
 
+	@Test
+	@DisplayName("GET /vets - Should stream all vets with their specialties as JSON")
+	void testShowResourcesVetListStreamsJson() throws Exception {
+		// Act
+		var result = mockMvc.perform(get("/vets"));
+
+		// Assert
+		result.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith("application/json"))
+			.andExpect(jsonPath("$.vetList", hasSize(6)))
+			.andExpect(jsonPath("$.vetList[0].firstName").value("James"))
+			.andExpect(jsonPath("$.vetList[1].specialties[0].name").value("radiology"))
+			.andExpect(jsonPath("$.vetList[2].specialties", hasSize(2)));
+	}
+
+	@Test
+	@DisplayName("GET /vets.html and /vets - Should answer 304 Not Modified while the vets do not change")
+	void testShowVetsNotModified() throws Exception {
+		// Arrange
+		String html = mockMvc.perform(get("/vets.html")).andReturn().getResponse().getHeader("ETag");
+		String json = mockMvc.perform(get("/vets")).andReturn().getResponse().getHeader("ETag");
+		String ndjson = mockMvc.perform(get("/vets").accept("application/x-ndjson"))
+			.andReturn()
+			.getResponse()
+			.getHeader("ETag");
+
+		// Act & Assert
+		assertNotNull(html);
+		assertNotEquals(json, ndjson);
+		mockMvc.perform(get("/vets.html").header("If-None-Match", html))
+			.andExpect(status().isNotModified())
+			.andExpect(header().string("X-SQL-Statements", "0"));
+		mockMvc.perform(get("/vets").header("If-None-Match", json)).andExpect(status().isNotModified());
+		mockMvc.perform(get("/vets").accept("application/x-ndjson").header("If-None-Match", json))
+			.andExpect(status().isOk());
+	}
+
+	@Test
+	@DisplayName("GET /vets - Should stream one vet per line as NDJSON")
+	void testShowResourcesVetListStreamsNdjson() throws Exception {
+		// Act
+		var result = mockMvc.perform(get("/vets").accept("application/x-ndjson"));
+
+		// Assert
+		String[] lines = result.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+			.andReturn()
+			.getResponse()
+			.getContentAsString()
+			.split("\n");
+		assertEquals(6, lines.length);
+		assertTrue(lines[0].startsWith("{") && lines[0].contains("\"firstName\":\"James\""));
+	}
+
+	@Test
+	@DisplayName("GET /vets - Should stream nothing as NDJSON when there are no vets")
+	void testShowResourcesVetStreamWithoutVets() throws Exception {
+		// Arrange
+		entityManager.createNativeQuery("DELETE FROM vet_specialties").executeUpdate();
+		entityManager.createNativeQuery("DELETE FROM vets").executeUpdate();
+
+		// Act
+		var result = mockMvc.perform(get("/vets").accept("application/x-ndjson"));
+
+		// Assert
+		result.andExpect(status().isOk()).andExpect(content().string(""));
+	}
+
 }
@@ -0,0 +1,111 @@
+package ec.edu.epn.petclinic.vet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without a surrounding transaction so that cache evictions happen on commit, as
+ * they do in the application.
+ */
+@SpringBootTest
+@DisplayName("VetRepository Cache Tests")
+class VetRepositoryTest {
+
+	@Autowired
+	private VetRepository vetRepository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private VetDataVersion vetDataVersion;
+
+	@BeforeEach
+	void clearCaches() {
+		for (String name : VetCacheEvictionListener.CACHE_NAMES) {
+			cacheManager.getCache(name).clear();
+		}
+	}
+
+	@Test
+	@DisplayName("findAll(Pageable) - Should cache each page by number, size and sort")
+	void findAllPaged_shouldCacheEachPage() {
+		// Act
+		Page<Vet> first = vetRepository.findAll(PageRequest.of(0, 5));
+		Page<Vet> again = vetRepository.findAll(PageRequest.of(0, 5));
+		Page<Vet> otherSize = vetRepository.findAll(PageRequest.of(0, 3));
+		Page<Vet> sorted = vetRepository.findAll(PageRequest.of(0, 5, Sort.by("lastName")));
+
+		// Assert
+		assertSame(first, again);
+		assertNotSame(first, otherSize);
+		assertEquals(3, otherSize.getNumberOfElements());
+		assertNotSame(first, sorted);
+	}
+
+	@Test
+	@DisplayName("Vet caches - Should be cleared when a specialty is saved")
+	void caches_shouldBeClearedWhenSpecialtyChanges() {
+		// Arrange
+		Page<Vet> page = vetRepository.findAll(PageRequest.of(0, 5));
+		vetRepository.findAll();
+		Specialty specialty = new Specialty();
+		specialty.setName("cardiology");
+
+		// Act
+		transactionTemplate.executeWithoutResult(status -> entityManager.persist(specialty));
+
+		// Assert
+		try {
+			assertNotSame(page, vetRepository.findAll(PageRequest.of(0, 5)));
+		}
+		finally {
+			transactionTemplate.executeWithoutResult(
+					status -> entityManager.remove(entityManager.find(Specialty.class, specialty.getId())));
+		}
+	}
+
+	@Test
+	@DisplayName("Vet caches - Should be cleared when only the specialties of a vet change")
+	void caches_shouldBeClearedWhenVetSpecialtiesChange() {
+		// Arrange
+		Page<Vet> page = vetRepository.findAll(PageRequest.of(0, 5));
+		vetRepository.findAll();
+		long version = vetDataVersion.get();
+
+		// Act
+		transactionTemplate.executeWithoutResult(status -> entityManager.find(Vet.class, 1)
+			.addSpecialty(entityManager.find(Specialty.class, 1)));
+
+		// Assert
+		try {
+			Page<Vet> changed = vetRepository.findAll(PageRequest.of(0, 5));
+			assertNotSame(page, changed);
+			assertEquals(1, changed.getContent().get(0).getNrOfSpecialties());
+			assertTrue(vetDataVersion.get() > version);
+		}
+		finally {
+			transactionTemplate.executeWithoutResult(
+					status -> entityManager.find(Vet.class, 1).getSpecialtiesInternal().clear());
+		}
+	}
+
+}
@@ -213,10 +213,9 @@ class VetTest {
 		// Assert
 		assertNotNull(specialties);
 		assertEquals(1, specialties.size());
-		// The returned list is a new list created from stream collect(Collectors.toList())
-		// which creates a modifiable ArrayList
-		specialties.add(specialty2);
-		assertEquals(2, specialties.size());
+		// The returned list is a cached view shared by all callers, so it cannot be modified
+		assertThrows(UnsupportedOperationException.class, () -> specialties.add(specialty2));
+		assertSame(specialties, vet.getSpecialties());
 	}
 
 	@Test